@@ -16,6 +16,7 @@
 
 package com.github.aafwu00.evcache.client.spring.boot;
 
+import com.github.aafwu00.evcache.client.spring.EVCacheKeyEncoder;
 import com.github.aafwu00.evcache.client.spring.EVCacheManager;
 import com.netflix.archaius.DefaultPropertyFactory;
 import com.netflix.archaius.commons.CommonsToConfig;
@@ -34,14 +35,20 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.netflix.archaius.ArchaiusAutoConfiguration;
 import org.springframework.cloud.netflix.archaius.ConfigurableEnvironmentConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import static java.util.stream.Collectors.toList;
 
@@ -73,12 +80,16 @@ public class EVCacheAutoConfiguration {
                                        final EVCacheClientPoolManager evcacheClientPoolManager,
                                        final EVCacheProperties properties,
                                        final ObjectProvider<EVCache.Builder.Customizer> builders,
-                                       final ObjectProvider<Transcoder<?>> transcoder) {
+                                       final ObjectProvider<Transcoder<?>> transcoder,
+                                       final ObjectProvider<EVCacheKeyEncoder> keyEncoder) {
         final EVCacheManager cacheManager = new EVCacheManager(evcacheClientPoolManager,
                                                                properties.toConfigurations(),
                                                                builders.orderedStream().collect(toList()));
         cacheManager.setAllowNullValues(properties.isAllowNullValues());
+        cacheManager.setTransactionAware(properties.isTransactionAware());
+        cacheManager.setRequestMemoized(properties.isRequestMemoized());
         transcoder.ifAvailable(cacheManager::setTranscoder);
+        keyEncoder.ifAvailable(cacheManager::setKeyEncoder);
         return customizers.customize(cacheManager);
     }
 
@@ -109,4 +120,20 @@ public class EVCacheAutoConfiguration {
     public EVCacheNodeList evcacheNodeList() {
         return new SimpleNodeListProvider();
     }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(OncePerRequestFilter.class)
+    @ConditionalOnProperty("evcache.request-memoized")
+    public static class RequestMemoization {
+        @Bean
+        @ConditionalOnMissingBean(value = EVCacheRequestMemoFilter.class,
+                                  parameterizedContainer = FilterRegistrationBean.class)
+        public FilterRegistrationBean<EVCacheRequestMemoFilter> evcacheRequestMemoFilter() {
+            final FilterRegistrationBean<EVCacheRequestMemoFilter> result =
+                new FilterRegistrationBean<>(new EVCacheRequestMemoFilter());
+            result.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return result;
+        }
+    }
 }
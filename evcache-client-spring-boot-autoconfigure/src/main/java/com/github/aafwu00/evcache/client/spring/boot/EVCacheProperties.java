@@ -18,6 +18,7 @@ package com.github.aafwu00.evcache.client.spring.boot;
 
 import com.github.aafwu00.evcache.client.spring.EVCacheConfiguration;
 import com.github.aafwu00.evcache.client.spring.EVCacheImpl;
+import com.netflix.evcache.EVCacheLatch;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -27,6 +28,7 @@ import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
@@ -36,6 +38,7 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -59,6 +62,14 @@ public class EVCacheProperties {
      * Whether to allow for {@code null} values
      */
     private final boolean allowNullValues;
+    /**
+     * Defer puts and evicts until the surrounding transaction commits, requires spring-tx
+     */
+    private final boolean transactionAware;
+    /**
+     * Memoize cache reads within a servlet request, dropped when the request ends
+     */
+    private final boolean requestMemoized;
     /**
      * Key is Name of the Cache {@link org.springframework.cache.annotation.Cacheable#cacheNames()},
      * Value is Clusters properties
@@ -69,17 +80,23 @@ public class EVCacheProperties {
     private final Map<String, Cluster> clusters;
 
     /**
-     * @param enabled         Enable EVCache
-     * @param allowNullValues whether to allow for {@code null} values
-     * @param clusters        Key is Name of the Cache {@link org.springframework.cache.annotation.Cacheable#cacheNames()},
-     *                        Value is Clusters properties
+     * @param enabled          Enable EVCache
+     * @param allowNullValues  whether to allow for {@code null} values
+     * @param transactionAware defer puts and evicts until the surrounding transaction commits, requires spring-tx
+     * @param requestMemoized  memoize cache reads within a servlet request, dropped when the request ends
+     * @param clusters         Key is Name of the Cache {@link org.springframework.cache.annotation.Cacheable#cacheNames()},
+     *                         Value is Clusters properties
      */
     public EVCacheProperties(@DefaultValue("true") final boolean enabled,
                              @DefaultValue("true") final boolean allowNullValues,
+                             @DefaultValue("false") final boolean transactionAware,
+                             @DefaultValue("false") final boolean requestMemoized,
                              @NotEmpty @Valid final Map<String, Cluster> clusters) {
         Assert.notEmpty(clusters, "`clusters` must not be empty");
         this.enabled = enabled;
         this.allowNullValues = allowNullValues;
+        this.transactionAware = transactionAware;
+        this.requestMemoized = requestMemoized;
         this.clusters = clusters;
     }
 
@@ -98,6 +115,14 @@ public class EVCacheProperties {
         return allowNullValues;
     }
 
+    public boolean isTransactionAware() {
+        return transactionAware;
+    }
+
+    public boolean isRequestMemoized() {
+        return requestMemoized;
+    }
+
     public Map<String, Cluster> getClusters() {
         return clusters;
     }
@@ -133,6 +158,172 @@ public class EVCacheProperties {
          * Whether or not exception throwing is to be enabled. {@link com.netflix.evcache.EVCache.Builder#setExceptionThrowing(boolean)}
          */
         private final boolean exceptionThrowingEnabled;
+        /**
+         * Skip writing values byte-identical to the ones recently written by this process
+         */
+        private final boolean writeSuppressionEnabled;
+        /**
+         * the maximum number of keys to be tracked for write suppression
+         */
+        private final int writeSuppressionMaximumSize;
+        /**
+         * Refresh Time To Live(TTL) with touch instead of the suppressed write
+         */
+        private final boolean writeSuppressionTouchEnabled;
+        /**
+         * the maximum size of off-heap near cache, zero is disabled
+         */
+        private final DataSize nearCacheCapacity;
+        /**
+         * Time To Live(TTL) of off-heap near cache
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration nearCacheTimeToLive;
+        /**
+         * the directory of memory-mapped disk tier, empty is disabled
+         */
+        private final String diskTierDirectory;
+        /**
+         * the size of a segment file of memory-mapped disk tier
+         */
+        private final DataSize diskTierSegmentSize;
+        /**
+         * the maximum size of all segment files of memory-mapped disk tier
+         */
+        private final DataSize diskTierMaximumSize;
+        /**
+         * the directory of hot key manifest to be prefetched at startup, empty is disabled
+         */
+        private final String keyManifestDirectory;
+        /**
+         * the maximum number of keys in hot key manifest
+         */
+        private final int keyManifestSize;
+        /**
+         * the minimum reads per second of a key to be promoted into hot key cache, zero is disabled
+         */
+        private final double hotKeyThreshold;
+        /**
+         * the maximum number of keys in hot key cache
+         */
+        private final int hotKeyMaximumSize;
+        /**
+         * Time To Live(TTL) of hot key cache and of copies of hot keys
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration hotKeyTimeToLive;
+        /**
+         * the number of copies of a hot key spread over servers, less than two is disabled
+         */
+        private final int hotKeyReplicas;
+        /**
+         * the keys always replicated, in addition to the keys promoted by hot key cache
+         */
+        private final Set<String> hotKeys;
+        /**
+         * the maximum bytes of a key to be kept as it is, longer keys are digested, zero is disabled
+         */
+        private final int maximumKeyLength;
+        /**
+         * the number of absent keys of a generation of negative lookup filter, zero is disabled
+         */
+        private final int negativeFilterExpectedInsertions;
+        /**
+         * the maximum age of a generation of negative lookup filter
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration negativeFilterTimeToLive;
+        /**
+         * the time to live of null values, zero is same as the time to live
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration negativeTimeToLive;
+        /**
+         * the maximum time to live decided by how often values change, zero is disabled
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration adaptiveTimeToLiveMaximum;
+        /**
+         * the minimum time to live decided by how often values change
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration adaptiveTimeToLiveMinimum;
+        /**
+         * the maximum ratio of the adaptive time to live to be shortened randomly
+         */
+        private final double adaptiveTimeToLiveJitter;
+        /**
+         * the maximum number of keys of which changes are tracked
+         */
+        private final int adaptiveTimeToLiveMaximumSize;
+        /**
+         * restart the time to live on each access, by touching it
+         */
+        private final boolean slidingExpiration;
+        /**
+         * the minimum interval between touches of a key by sliding expiration
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration slidingExpirationTouchInterval;
+        /**
+         * the time to live of a lease taken on a miss, longer than the loads, zero is disabled
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration leaseTimeToLive;
+        /**
+         * the maximum number of attempts of an update
+         */
+        private final int updateMaximumAttempts;
+        /**
+         * the base of the backoff between attempts of an update
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private final Duration updateBackoff;
+        /**
+         * the time to live of a taken update, longer than the updates
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration updateLockTimeToLive;
+        /**
+         * the maximum number of keys pending to be written behind, zero is disabled
+         */
+        private final int writeBehindCapacity;
+        /**
+         * the number of keys written behind at once
+         */
+        private final int writeBehindBatchSize;
+        /**
+         * the maximum interval between flushes of writes behind
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private final Duration writeBehindFlushInterval;
+        /**
+         * the native latch policy of acknowledgement of writes, absent not to wait
+         */
+        private final EVCacheLatch.Policy writePolicy;
+        /**
+         * the maximum time to wait for the acknowledgement of a write
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private final Duration writeTimeout;
+        /**
+         * the maximum number of leading keys of which followers are learned to be prefetched, zero is disabled
+         */
+        private final int prefetchMaximumSize;
+        /**
+         * the maximum interval between reads of a leading key and a follower by the same thread
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private final Duration prefetchWindow;
+        /**
+         * the minimum ratio of reads of a leading key followed by a key to prefetch it
+         */
+        private final double prefetchConfidence;
+        /**
+         * the time to live of prefetched values not read yet
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private final Duration prefetchTimeToLive;
 
         /**
          * @param appName                  Name of the EVCache App cluster, Recommend Upper Case. {@link com.netflix.evcache.EVCache.Builder#setAppName(String)}
@@ -143,34 +334,223 @@ public class EVCacheProperties {
          * @param striped                  the minimum number of stripes (locks) required.
          *                                 effected only {@link EVCacheImpl#get(Object, java.util.concurrent.Callable)}, {@link EVCacheImpl#putIfAbsent(Object, Object)}.
          *                                 default is zero, if zero then striped will be `{@link Runtime#availableProcessors()} * 4`.
+         * @param writeSuppressionEnabled      Skip writing values byte-identical to the ones recently written by this process
+         * @param writeSuppressionMaximumSize  the maximum number of keys to be tracked for write suppression
+         * @param writeSuppressionTouchEnabled Refresh Time To Live(TTL) with touch instead of the suppressed write
+         * @param nearCacheCapacity            the maximum size of off-heap near cache, zero is disabled
+         * @param nearCacheTimeToLive          Time To Live(TTL) of off-heap near cache
+         * @param diskTierDirectory            the directory of memory-mapped disk tier, empty is disabled
+         * @param diskTierSegmentSize          the size of a segment file of memory-mapped disk tier
+         * @param diskTierMaximumSize          the maximum size of all segment files of memory-mapped disk tier
+         * @param keyManifestDirectory         the directory of hot key manifest to be prefetched at startup, empty is disabled
+         * @param keyManifestSize              the maximum number of keys in hot key manifest
+         * @param hotKeyThreshold              the minimum reads per second of a key to be promoted into hot key cache, zero is disabled
+         * @param hotKeyMaximumSize            the maximum number of keys in hot key cache
+         * @param hotKeyTimeToLive             Time To Live(TTL) of hot key cache and of copies of hot keys
+         * @param hotKeyReplicas               the number of copies of a hot key spread over servers, less than two is disabled
+         * @param hotKeys                      the keys always replicated, in addition to the keys promoted by hot key cache
+         * @param maximumKeyLength             the maximum bytes of a key to be kept as it is, longer keys are digested, zero is disabled
+         * @param negativeFilterExpectedInsertions the number of absent keys of a generation of negative lookup filter, zero is disabled
+         * @param negativeFilterTimeToLive     the maximum age of a generation of negative lookup filter
+         * @param negativeTimeToLive           the time to live of null values, zero is same as the time to live
+         * @param adaptiveTimeToLiveMaximum    the maximum time to live decided by how often values change, zero is disabled
+         * @param adaptiveTimeToLiveMinimum    the minimum time to live decided by how often values change
+         * @param adaptiveTimeToLiveJitter     the maximum ratio of the adaptive time to live to be shortened randomly
+         * @param adaptiveTimeToLiveMaximumSize the maximum number of keys of which changes are tracked
+         * @param slidingExpiration            restart the time to live on each access, by touching it
+         * @param slidingExpirationTouchInterval the minimum interval between touches of a key by sliding expiration
+         * @param leaseTimeToLive              the time to live of a lease taken on a miss, longer than the loads, zero is disabled
+         * @param updateMaximumAttempts        the maximum number of attempts of an update
+         * @param updateBackoff                the base of the backoff between attempts of an update
+         * @param updateLockTimeToLive         the time to live of a taken update, longer than the updates
+         * @param writeBehindCapacity          the maximum number of keys pending to be written behind, zero is disabled
+         * @param writeBehindBatchSize         the number of keys written behind at once
+         * @param writeBehindFlushInterval     the maximum interval between flushes of writes behind
+         * @param writePolicy                  the native latch policy of acknowledgement of writes, absent not to wait
+         * @param writeTimeout                 the maximum time to wait for the acknowledgement of a write
+         * @param prefetchMaximumSize          the maximum number of leading keys of which followers are learned to be prefetched, zero is disabled
+         * @param prefetchWindow               the maximum interval between reads of a leading key and a follower by the same thread
+         * @param prefetchConfidence           the minimum ratio of reads of a leading key followed by a key to prefetch it
+         * @param prefetchTimeToLive           the time to live of prefetched values not read yet
          */
         public Cluster(@NotBlank @NotNull final String appName,
                        @Pattern(regexp = PATTERN_KEY_PREFIX) @DefaultValue("") final String keyPrefix,
                        @DefaultValue("900s") @NotNull final Duration timeToLive,
                        @DefaultValue("true") final boolean retryEnabled,
                        @DefaultValue("false") final boolean exceptionThrowingEnabled,
-                       @DefaultValue("0") final int striped) {
+                       @DefaultValue("0") final int striped,
+                       @DefaultValue("false") final boolean writeSuppressionEnabled,
+                       @DefaultValue("10000") final int writeSuppressionMaximumSize,
+                       @DefaultValue("false") final boolean writeSuppressionTouchEnabled,
+                       @DefaultValue("0B") final DataSize nearCacheCapacity,
+                       @DefaultValue("10s") final Duration nearCacheTimeToLive,
+                       @DefaultValue("") final String diskTierDirectory,
+                       @DefaultValue("64MB") final DataSize diskTierSegmentSize,
+                       @DefaultValue("1GB") final DataSize diskTierMaximumSize,
+                       @DefaultValue("") final String keyManifestDirectory,
+                       @DefaultValue("100") final int keyManifestSize,
+                       @DefaultValue("0") final double hotKeyThreshold,
+                       @DefaultValue("50") final int hotKeyMaximumSize,
+                       @DefaultValue("1s") final Duration hotKeyTimeToLive,
+                       @DefaultValue("0") final int hotKeyReplicas,
+                       final Set<String> hotKeys,
+                       @DefaultValue("0") final int maximumKeyLength,
+                       @DefaultValue("0") final int negativeFilterExpectedInsertions,
+                       @DefaultValue("60s") final Duration negativeFilterTimeToLive,
+                       @DefaultValue("0") final Duration negativeTimeToLive,
+                       @DefaultValue("0") final Duration adaptiveTimeToLiveMaximum,
+                       @DefaultValue("60s") final Duration adaptiveTimeToLiveMinimum,
+                       @DefaultValue("0.1") final double adaptiveTimeToLiveJitter,
+                       @DefaultValue("10000") final int adaptiveTimeToLiveMaximumSize,
+                       @DefaultValue("false") final boolean slidingExpiration,
+                       @DefaultValue("10s") final Duration slidingExpirationTouchInterval,
+                       @DefaultValue("0") final Duration leaseTimeToLive,
+                       @DefaultValue("10") final int updateMaximumAttempts,
+                       @DefaultValue("10ms") final Duration updateBackoff,
+                       @DefaultValue("10s") final Duration updateLockTimeToLive,
+                       @DefaultValue("0") final int writeBehindCapacity,
+                       @DefaultValue("100") final int writeBehindBatchSize,
+                       @DefaultValue("100ms") final Duration writeBehindFlushInterval,
+                       final EVCacheLatch.Policy writePolicy,
+                       @DefaultValue("1s") final Duration writeTimeout,
+                       @DefaultValue("0") final int prefetchMaximumSize,
+                       @DefaultValue("100ms") @DurationUnit(ChronoUnit.MILLIS) final Duration prefetchWindow,
+                       @DefaultValue("0.5") final double prefetchConfidence,
+                       @DefaultValue("1s") @DurationUnit(ChronoUnit.SECONDS) final Duration prefetchTimeToLive) {
             Assert.state(StringUtils.isNotBlank(appName), "`appName` must not be blank");
             Assert.notNull(keyPrefix, "`keyPrefix` must not be null");
             Assert.state(keyPrefix.matches(PATTERN_KEY_PREFIX), "`keyPrefix` must not contain colon(:) or whitespace");
             Assert.notNull(timeToLive, "`timeToLive` must not be null");
             Assert.state(striped >= 0, "`striped` must not be negative");
+            Assert.state(writeSuppressionMaximumSize > 0, "`writeSuppressionMaximumSize` must be positive value");
+            Assert.notNull(nearCacheCapacity, "`nearCacheCapacity` must not be null");
+            Assert.notNull(nearCacheTimeToLive, "`nearCacheTimeToLive` must not be null");
+            Assert.notNull(diskTierDirectory, "`diskTierDirectory` must not be null");
+            Assert.notNull(diskTierSegmentSize, "`diskTierSegmentSize` must not be null");
+            Assert.notNull(diskTierMaximumSize, "`diskTierMaximumSize` must not be null");
+            Assert.notNull(keyManifestDirectory, "`keyManifestDirectory` must not be null");
+            Assert.state(keyManifestSize > 0, "`keyManifestSize` must be positive value");
+            Assert.state(hotKeyThreshold >= 0, "`hotKeyThreshold` must not be negative");
+            Assert.state(hotKeyMaximumSize > 0, "`hotKeyMaximumSize` must be positive value");
+            Assert.notNull(hotKeyTimeToLive, "`hotKeyTimeToLive` must not be null");
+            Assert.state(hotKeyReplicas >= 0, "`hotKeyReplicas` must not be negative");
+            Assert.state(maximumKeyLength >= 0, "`maximumKeyLength` must not be negative");
+            Assert.state(negativeFilterExpectedInsertions >= 0,
+                         "`negativeFilterExpectedInsertions` must not be negative");
+            Assert.notNull(negativeFilterTimeToLive, "`negativeFilterTimeToLive` must not be null");
+            Assert.notNull(negativeTimeToLive, "`negativeTimeToLive` must not be null");
+            Assert.notNull(adaptiveTimeToLiveMaximum, "`adaptiveTimeToLiveMaximum` must not be null");
+            Assert.notNull(adaptiveTimeToLiveMinimum, "`adaptiveTimeToLiveMinimum` must not be null");
+            Assert.state(adaptiveTimeToLiveJitter >= 0 && adaptiveTimeToLiveJitter < 1,
+                         "`adaptiveTimeToLiveJitter` must be between 0 and 1");
+            Assert.state(adaptiveTimeToLiveMaximumSize > 0, "`adaptiveTimeToLiveMaximumSize` must be positive value");
+            Assert.notNull(slidingExpirationTouchInterval, "`slidingExpirationTouchInterval` must not be null");
+            Assert.notNull(leaseTimeToLive, "`leaseTimeToLive` must not be null");
+            Assert.state(updateMaximumAttempts > 0, "`updateMaximumAttempts` must be positive value");
+            Assert.notNull(updateBackoff, "`updateBackoff` must not be null");
+            Assert.notNull(updateLockTimeToLive, "`updateLockTimeToLive` must not be null");
+            Assert.state(writeBehindCapacity >= 0, "`writeBehindCapacity` must not be negative");
+            Assert.state(writeBehindBatchSize > 0, "`writeBehindBatchSize` must be positive value");
+            Assert.notNull(writeBehindFlushInterval, "`writeBehindFlushInterval` must not be null");
+            Assert.notNull(writeTimeout, "`writeTimeout` must not be null");
+            Assert.state(prefetchMaximumSize >= 0, "`prefetchMaximumSize` must not be negative");
+            Assert.notNull(prefetchWindow, "`prefetchWindow` must not be null");
+            Assert.state(prefetchConfidence > 0 && prefetchConfidence <= 1,
+                         "`prefetchConfidence` must be between 0 and 1");
+            Assert.notNull(prefetchTimeToLive, "`prefetchTimeToLive` must not be null");
             this.appName = appName;
             this.keyPrefix = keyPrefix;
             this.timeToLive = timeToLive;
             this.retryEnabled = retryEnabled;
             this.exceptionThrowingEnabled = exceptionThrowingEnabled;
             this.striped = striped;
+            this.writeSuppressionEnabled = writeSuppressionEnabled;
+            this.writeSuppressionMaximumSize = writeSuppressionMaximumSize;
+            this.writeSuppressionTouchEnabled = writeSuppressionTouchEnabled;
+            this.nearCacheCapacity = nearCacheCapacity;
+            this.nearCacheTimeToLive = nearCacheTimeToLive;
+            this.diskTierDirectory = diskTierDirectory;
+            this.diskTierSegmentSize = diskTierSegmentSize;
+            this.diskTierMaximumSize = diskTierMaximumSize;
+            this.keyManifestDirectory = keyManifestDirectory;
+            this.keyManifestSize = keyManifestSize;
+            this.hotKeyThreshold = hotKeyThreshold;
+            this.hotKeyMaximumSize = hotKeyMaximumSize;
+            this.hotKeyTimeToLive = hotKeyTimeToLive;
+            this.hotKeyReplicas = hotKeyReplicas;
+            this.hotKeys = hotKeys == null ? Collections.emptySet() : hotKeys;
+            this.maximumKeyLength = maximumKeyLength;
+            this.negativeFilterExpectedInsertions = negativeFilterExpectedInsertions;
+            this.negativeFilterTimeToLive = negativeFilterTimeToLive;
+            this.negativeTimeToLive = negativeTimeToLive;
+            this.adaptiveTimeToLiveMaximum = adaptiveTimeToLiveMaximum;
+            this.adaptiveTimeToLiveMinimum = adaptiveTimeToLiveMinimum;
+            this.adaptiveTimeToLiveJitter = adaptiveTimeToLiveJitter;
+            this.adaptiveTimeToLiveMaximumSize = adaptiveTimeToLiveMaximumSize;
+            this.slidingExpiration = slidingExpiration;
+            this.slidingExpirationTouchInterval = slidingExpirationTouchInterval;
+            this.leaseTimeToLive = leaseTimeToLive;
+            this.updateMaximumAttempts = updateMaximumAttempts;
+            this.updateBackoff = updateBackoff;
+            this.updateLockTimeToLive = updateLockTimeToLive;
+            this.writeBehindCapacity = writeBehindCapacity;
+            this.writeBehindBatchSize = writeBehindBatchSize;
+            this.writeBehindFlushInterval = writeBehindFlushInterval;
+            this.writePolicy = writePolicy;
+            this.writeTimeout = writeTimeout;
+            this.prefetchMaximumSize = prefetchMaximumSize;
+            this.prefetchWindow = prefetchWindow;
+            this.prefetchConfidence = prefetchConfidence;
+            this.prefetchTimeToLive = prefetchTimeToLive;
         }
 
         protected EVCacheConfiguration toConfiguration(final String name) {
-            return new EVCacheConfiguration(name,
-                                            determineStriped(),
-                                            getAppName(),
-                                            getKeyPrefix(),
-                                            getTimeToLive(),
-                                            isRetryEnabled(),
-                                            isExceptionThrowingEnabled());
+            final EVCacheConfiguration result = new EVCacheConfiguration(name,
+                                                                         determineStriped(),
+                                                                         getAppName(),
+                                                                         getKeyPrefix(),
+                                                                         getTimeToLive(),
+                                                                         isRetryEnabled(),
+                                                                         isExceptionThrowingEnabled());
+            result.setWriteSuppressionEnabled(isWriteSuppressionEnabled());
+            result.setWriteSuppressionMaximumSize(getWriteSuppressionMaximumSize());
+            result.setWriteSuppressionTouchEnabled(isWriteSuppressionTouchEnabled());
+            result.setNearCacheCapacity(getNearCacheCapacity().toBytes());
+            result.setNearCacheTimeToLive(getNearCacheTimeToLive());
+            result.setDiskTierDirectory(StringUtils.defaultIfEmpty(getDiskTierDirectory(), null));
+            result.setDiskTierSegmentSize(Math.toIntExact(getDiskTierSegmentSize().toBytes()));
+            result.setDiskTierMaximumSize(getDiskTierMaximumSize().toBytes());
+            result.setKeyManifestDirectory(StringUtils.defaultIfEmpty(getKeyManifestDirectory(), null));
+            result.setKeyManifestSize(getKeyManifestSize());
+            result.setHotKeyThreshold(getHotKeyThreshold());
+            result.setHotKeyMaximumSize(getHotKeyMaximumSize());
+            result.setHotKeyTimeToLive(getHotKeyTimeToLive());
+            result.setHotKeyReplicas(getHotKeyReplicas());
+            result.setHotKeys(getHotKeys());
+            result.setMaximumKeyLength(getMaximumKeyLength());
+            result.setNegativeFilterExpectedInsertions(getNegativeFilterExpectedInsertions());
+            result.setNegativeFilterTimeToLive(getNegativeFilterTimeToLive());
+            result.setNegativeTimeToLive(getNegativeTimeToLive());
+            result.setAdaptiveTimeToLiveMaximum(getAdaptiveTimeToLiveMaximum());
+            result.setAdaptiveTimeToLiveMinimum(getAdaptiveTimeToLiveMinimum());
+            result.setAdaptiveTimeToLiveJitter(getAdaptiveTimeToLiveJitter());
+            result.setAdaptiveTimeToLiveMaximumSize(getAdaptiveTimeToLiveMaximumSize());
+            result.setSlidingExpiration(isSlidingExpiration());
+            result.setSlidingExpirationTouchInterval(getSlidingExpirationTouchInterval());
+            result.setLeaseTimeToLive(getLeaseTimeToLive());
+            result.setUpdateMaximumAttempts(getUpdateMaximumAttempts());
+            result.setUpdateBackoff(getUpdateBackoff());
+            result.setUpdateLockTimeToLive(getUpdateLockTimeToLive());
+            result.setWriteBehindCapacity(getWriteBehindCapacity());
+            result.setWriteBehindBatchSize(getWriteBehindBatchSize());
+            result.setWriteBehindFlushInterval(getWriteBehindFlushInterval());
+            result.setWritePolicy(getWritePolicy());
+            result.setWriteTimeout(getWriteTimeout());
+            result.setPrefetchMaximumSize(getPrefetchMaximumSize());
+            result.setPrefetchWindow(getPrefetchWindow());
+            result.setPrefetchConfidence(getPrefetchConfidence());
+            result.setPrefetchTimeToLive(getPrefetchTimeToLive());
+            return result;
         }
 
         @Override
@@ -221,6 +601,158 @@ public class EVCacheProperties {
         public boolean isExceptionThrowingEnabled() {
             return exceptionThrowingEnabled;
         }
+
+        public boolean isWriteSuppressionEnabled() {
+            return writeSuppressionEnabled;
+        }
+
+        public int getWriteSuppressionMaximumSize() {
+            return writeSuppressionMaximumSize;
+        }
+
+        public boolean isWriteSuppressionTouchEnabled() {
+            return writeSuppressionTouchEnabled;
+        }
+
+        public DataSize getNearCacheCapacity() {
+            return nearCacheCapacity;
+        }
+
+        public Duration getNearCacheTimeToLive() {
+            return nearCacheTimeToLive;
+        }
+
+        public String getDiskTierDirectory() {
+            return diskTierDirectory;
+        }
+
+        public DataSize getDiskTierSegmentSize() {
+            return diskTierSegmentSize;
+        }
+
+        public DataSize getDiskTierMaximumSize() {
+            return diskTierMaximumSize;
+        }
+
+        public String getKeyManifestDirectory() {
+            return keyManifestDirectory;
+        }
+
+        public int getKeyManifestSize() {
+            return keyManifestSize;
+        }
+
+        public double getHotKeyThreshold() {
+            return hotKeyThreshold;
+        }
+
+        public int getHotKeyMaximumSize() {
+            return hotKeyMaximumSize;
+        }
+
+        public Duration getHotKeyTimeToLive() {
+            return hotKeyTimeToLive;
+        }
+
+        public int getHotKeyReplicas() {
+            return hotKeyReplicas;
+        }
+
+        public Set<String> getHotKeys() {
+            return hotKeys;
+        }
+
+        public int getMaximumKeyLength() {
+            return maximumKeyLength;
+        }
+
+        public int getNegativeFilterExpectedInsertions() {
+            return negativeFilterExpectedInsertions;
+        }
+
+        public Duration getNegativeFilterTimeToLive() {
+            return negativeFilterTimeToLive;
+        }
+
+        public Duration getNegativeTimeToLive() {
+            return negativeTimeToLive;
+        }
+
+        public Duration getAdaptiveTimeToLiveMaximum() {
+            return adaptiveTimeToLiveMaximum;
+        }
+
+        public Duration getAdaptiveTimeToLiveMinimum() {
+            return adaptiveTimeToLiveMinimum;
+        }
+
+        public double getAdaptiveTimeToLiveJitter() {
+            return adaptiveTimeToLiveJitter;
+        }
+
+        public int getAdaptiveTimeToLiveMaximumSize() {
+            return adaptiveTimeToLiveMaximumSize;
+        }
+
+        public boolean isSlidingExpiration() {
+            return slidingExpiration;
+        }
+
+        public Duration getSlidingExpirationTouchInterval() {
+            return slidingExpirationTouchInterval;
+        }
+
+        public Duration getLeaseTimeToLive() {
+            return leaseTimeToLive;
+        }
+
+        public int getUpdateMaximumAttempts() {
+            return updateMaximumAttempts;
+        }
+
+        public Duration getUpdateBackoff() {
+            return updateBackoff;
+        }
+
+        public Duration getUpdateLockTimeToLive() {
+            return updateLockTimeToLive;
+        }
+
+        public int getWriteBehindCapacity() {
+            return writeBehindCapacity;
+        }
+
+        public int getWriteBehindBatchSize() {
+            return writeBehindBatchSize;
+        }
+
+        public Duration getWriteBehindFlushInterval() {
+            return writeBehindFlushInterval;
+        }
+
+        public EVCacheLatch.Policy getWritePolicy() {
+            return writePolicy;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public int getPrefetchMaximumSize() {
+            return prefetchMaximumSize;
+        }
+
+        public Duration getPrefetchWindow() {
+            return prefetchWindow;
+        }
+
+        public double getPrefetchConfidence() {
+            return prefetchConfidence;
+        }
+
+        public Duration getPrefetchTimeToLive() {
+            return prefetchTimeToLive;
+        }
     }
 }
 
@@ -29,6 +29,8 @@ import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
 import org.springframework.boot.context.properties.ConfigurationPropertiesBindException;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.support.NoOpCacheManager;
@@ -161,6 +163,30 @@ class EVCacheAutoConfigurationTest {
                                                         .matches(this::withSecondCluster));
     }
 
+    @Test
+    void should_be_registered_request_memo_filter_when_request_memoized() {
+        new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(EVCacheAutoConfiguration.class,
+                                                     CacheAutoConfiguration.class,
+                                                     ArchaiusAutoConfiguration.class))
+            .withPropertyValues("evcache.clusters.first.appName=test",
+                                "evcache.clusters.first.keyPrefix=test1",
+                                "evcache.request-memoized=true")
+            .withUserConfiguration(EnableCachingConfiguration.class)
+            .run(context -> assertThat(context).hasSingleBean(FilterRegistrationBean.class));
+    }
+
+    @Test
+    void should_be_not_registered_request_memo_filter_when_not_request_memoized() {
+        new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(EVCacheAutoConfiguration.class,
+                                                     CacheAutoConfiguration.class,
+                                                     ArchaiusAutoConfiguration.class))
+            .withPropertyValues("evcache.clusters.first.appName=test", "evcache.clusters.first.keyPrefix=test1")
+            .withUserConfiguration(EnableCachingConfiguration.class)
+            .run(context -> assertThat(context).doesNotHaveBean(FilterRegistrationBean.class));
+    }
+
     private boolean withFirstCluster(final EVCacheProperties properties) {
         final Cluster first = properties.getClusters().get("first");
         return isEqualTo(first::getAppName, "test") &&
@@ -18,6 +18,7 @@ package com.github.aafwu00.evcache.client.spring.boot;
 
 import com.github.aafwu00.evcache.client.spring.EVCacheConfiguration;
 import com.github.aafwu00.evcache.client.spring.boot.EVCacheProperties.Cluster;
+import com.netflix.evcache.EVCacheLatch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,11 +28,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofSeconds;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -58,13 +61,31 @@ class EVCachePropertiesTest {
     }
 
     private Cluster cluster(final String appName, final String keyPrefix) {
-        return new Cluster(appName, keyPrefix, ofSeconds(1), false, false, 1);
+        return new Cluster(appName, keyPrefix, ofSeconds(1), false, false, 1,
+                           false, 1, false,
+                           DataSize.ofBytes(0), ofSeconds(1),
+                           "", DataSize.ofMegabytes(1), DataSize.ofMegabytes(2),
+                           "", 1,
+                           0, 1, ofSeconds(1),
+                           0, null,
+                           200,
+                           0, ofSeconds(60),
+                           ofSeconds(0),
+                           ofSeconds(0), ofSeconds(60), 0.1, 10000,
+                           false, ofSeconds(10),
+                           ofSeconds(0),
+                           10, ofMillis(10), ofSeconds(10),
+                           0, 100, ofMillis(100),
+                           null, ofSeconds(1),
+                           0, ofMillis(100), 0.5, ofSeconds(1));
     }
 
     @Test
     void should_be_loaded_yml() {
         assertThat(properties.isEnabled()).isFalse();
         assertThat(properties.isAllowNullValues()).isFalse();
+        assertThat(properties.isTransactionAware()).isTrue();
+        assertThat(properties.isRequestMemoized()).isTrue();
         assertThat(properties.getClusters()).containsKeys("first");
         assertThat(first(properties.getClusters()).determineStriped()).isEqualTo(2);
         assertThat(first(properties.getClusters()).getStriped()).isEqualTo(2);
@@ -73,6 +94,44 @@ class EVCachePropertiesTest {
         assertThat(first(properties.getClusters()).getTimeToLive()).isEqualTo(ofSeconds(1000));
         assertThat(first(properties.getClusters()).isRetryEnabled()).isTrue();
         assertThat(first(properties.getClusters()).isExceptionThrowingEnabled()).isTrue();
+        assertThat(first(properties.getClusters()).isWriteSuppressionEnabled()).isTrue();
+        assertThat(first(properties.getClusters()).getWriteSuppressionMaximumSize()).isEqualTo(100);
+        assertThat(first(properties.getClusters()).isWriteSuppressionTouchEnabled()).isTrue();
+        assertThat(first(properties.getClusters()).getNearCacheCapacity()).isEqualTo(DataSize.ofMegabytes(1));
+        assertThat(first(properties.getClusters()).getNearCacheTimeToLive()).isEqualTo(ofSeconds(5));
+        assertThat(first(properties.getClusters()).getDiskTierDirectory()).isEqualTo("/var/cache/evcache");
+        assertThat(first(properties.getClusters()).getDiskTierSegmentSize()).isEqualTo(DataSize.ofMegabytes(16));
+        assertThat(first(properties.getClusters()).getDiskTierMaximumSize()).isEqualTo(DataSize.ofMegabytes(256));
+        assertThat(first(properties.getClusters()).getKeyManifestDirectory()).isEqualTo("/var/cache/evcache");
+        assertThat(first(properties.getClusters()).getKeyManifestSize()).isEqualTo(50);
+        assertThat(first(properties.getClusters()).getHotKeyThreshold()).isEqualTo(1000);
+        assertThat(first(properties.getClusters()).getHotKeyMaximumSize()).isEqualTo(20);
+        assertThat(first(properties.getClusters()).getHotKeyTimeToLive()).isEqualTo(ofSeconds(2));
+        assertThat(first(properties.getClusters()).getHotKeyReplicas()).isEqualTo(3);
+        assertThat(first(properties.getClusters()).getHotKeys()).containsOnly("celebrity", "trending");
+        assertThat(first(properties.getClusters()).getMaximumKeyLength()).isEqualTo(150);
+        assertThat(first(properties.getClusters()).getNegativeFilterExpectedInsertions()).isEqualTo(1000);
+        assertThat(first(properties.getClusters()).getNegativeFilterTimeToLive()).isEqualTo(ofSeconds(30));
+        assertThat(first(properties.getClusters()).getNegativeTimeToLive()).isEqualTo(ofSeconds(5));
+        assertThat(first(properties.getClusters()).getAdaptiveTimeToLiveMaximum()).isEqualTo(ofSeconds(3600));
+        assertThat(first(properties.getClusters()).getAdaptiveTimeToLiveMinimum()).isEqualTo(ofSeconds(30));
+        assertThat(first(properties.getClusters()).getAdaptiveTimeToLiveJitter()).isEqualTo(0.2);
+        assertThat(first(properties.getClusters()).getAdaptiveTimeToLiveMaximumSize()).isEqualTo(100);
+        assertThat(first(properties.getClusters()).isSlidingExpiration()).isTrue();
+        assertThat(first(properties.getClusters()).getSlidingExpirationTouchInterval()).isEqualTo(ofSeconds(5));
+        assertThat(first(properties.getClusters()).getLeaseTimeToLive()).isEqualTo(ofSeconds(10));
+        assertThat(first(properties.getClusters()).getUpdateMaximumAttempts()).isEqualTo(5);
+        assertThat(first(properties.getClusters()).getUpdateBackoff()).isEqualTo(ofMillis(20));
+        assertThat(first(properties.getClusters()).getUpdateLockTimeToLive()).isEqualTo(ofSeconds(3));
+        assertThat(first(properties.getClusters()).getWriteBehindCapacity()).isEqualTo(1000);
+        assertThat(first(properties.getClusters()).getWriteBehindBatchSize()).isEqualTo(50);
+        assertThat(first(properties.getClusters()).getWriteBehindFlushInterval()).isEqualTo(ofMillis(200));
+        assertThat(first(properties.getClusters()).getWritePolicy()).isEqualTo(EVCacheLatch.Policy.QUORUM);
+        assertThat(first(properties.getClusters()).getWriteTimeout()).isEqualTo(ofMillis(500));
+        assertThat(first(properties.getClusters()).getPrefetchMaximumSize()).isEqualTo(1000);
+        assertThat(first(properties.getClusters()).getPrefetchWindow()).isEqualTo(ofMillis(50));
+        assertThat(first(properties.getClusters()).getPrefetchConfidence()).isEqualTo(0.8);
+        assertThat(first(properties.getClusters()).getPrefetchTimeToLive()).isEqualTo(ofSeconds(2));
         assertThat(properties.getClusters()).containsKeys("second");
         assertThat(second(properties.getClusters()).determineStriped()).isEqualTo(Runtime.getRuntime()
                                                                                          .availableProcessors() * 4);
@@ -81,6 +140,44 @@ class EVCachePropertiesTest {
         assertThat(second(properties.getClusters()).getKeyPrefix()).isEqualTo("test2");
         assertThat(second(properties.getClusters()).isRetryEnabled()).isFalse();
         assertThat(second(properties.getClusters()).isExceptionThrowingEnabled()).isFalse();
+        assertThat(second(properties.getClusters()).isWriteSuppressionEnabled()).isFalse();
+        assertThat(second(properties.getClusters()).getWriteSuppressionMaximumSize()).isEqualTo(10000);
+        assertThat(second(properties.getClusters()).isWriteSuppressionTouchEnabled()).isFalse();
+        assertThat(second(properties.getClusters()).getNearCacheCapacity()).isEqualTo(DataSize.ofBytes(0));
+        assertThat(second(properties.getClusters()).getNearCacheTimeToLive()).isEqualTo(ofSeconds(10));
+        assertThat(second(properties.getClusters()).getDiskTierDirectory()).isEmpty();
+        assertThat(second(properties.getClusters()).getDiskTierSegmentSize()).isEqualTo(DataSize.ofMegabytes(64));
+        assertThat(second(properties.getClusters()).getDiskTierMaximumSize()).isEqualTo(DataSize.ofGigabytes(1));
+        assertThat(second(properties.getClusters()).getKeyManifestDirectory()).isEmpty();
+        assertThat(second(properties.getClusters()).getKeyManifestSize()).isEqualTo(100);
+        assertThat(second(properties.getClusters()).getHotKeyThreshold()).isZero();
+        assertThat(second(properties.getClusters()).getHotKeyMaximumSize()).isEqualTo(50);
+        assertThat(second(properties.getClusters()).getHotKeyTimeToLive()).isEqualTo(ofSeconds(1));
+        assertThat(second(properties.getClusters()).getHotKeyReplicas()).isZero();
+        assertThat(second(properties.getClusters()).getHotKeys()).isEmpty();
+        assertThat(second(properties.getClusters()).getMaximumKeyLength()).isZero();
+        assertThat(second(properties.getClusters()).getNegativeFilterExpectedInsertions()).isZero();
+        assertThat(second(properties.getClusters()).getNegativeFilterTimeToLive()).isEqualTo(ofSeconds(60));
+        assertThat(second(properties.getClusters()).getNegativeTimeToLive()).isEqualTo(ofSeconds(0));
+        assertThat(second(properties.getClusters()).getAdaptiveTimeToLiveMaximum()).isEqualTo(ofSeconds(0));
+        assertThat(second(properties.getClusters()).getAdaptiveTimeToLiveMinimum()).isEqualTo(ofSeconds(60));
+        assertThat(second(properties.getClusters()).getAdaptiveTimeToLiveJitter()).isEqualTo(0.1);
+        assertThat(second(properties.getClusters()).getAdaptiveTimeToLiveMaximumSize()).isEqualTo(10000);
+        assertThat(second(properties.getClusters()).isSlidingExpiration()).isFalse();
+        assertThat(second(properties.getClusters()).getSlidingExpirationTouchInterval()).isEqualTo(ofSeconds(10));
+        assertThat(second(properties.getClusters()).getLeaseTimeToLive()).isEqualTo(ofSeconds(0));
+        assertThat(second(properties.getClusters()).getUpdateMaximumAttempts()).isEqualTo(10);
+        assertThat(second(properties.getClusters()).getUpdateBackoff()).isEqualTo(ofMillis(10));
+        assertThat(second(properties.getClusters()).getUpdateLockTimeToLive()).isEqualTo(ofSeconds(10));
+        assertThat(second(properties.getClusters()).getWriteBehindCapacity()).isZero();
+        assertThat(second(properties.getClusters()).getWriteBehindBatchSize()).isEqualTo(100);
+        assertThat(second(properties.getClusters()).getWriteBehindFlushInterval()).isEqualTo(ofMillis(100));
+        assertThat(second(properties.getClusters()).getWritePolicy()).isNull();
+        assertThat(second(properties.getClusters()).getWriteTimeout()).isEqualTo(ofSeconds(1));
+        assertThat(second(properties.getClusters()).getPrefetchMaximumSize()).isZero();
+        assertThat(second(properties.getClusters()).getPrefetchWindow()).isEqualTo(ofMillis(100));
+        assertThat(second(properties.getClusters()).getPrefetchConfidence()).isEqualTo(0.5);
+        assertThat(second(properties.getClusters()).getPrefetchTimeToLive()).isEqualTo(ofSeconds(1));
     }
 
     @Test
@@ -90,9 +187,48 @@ class EVCachePropertiesTest {
         assertThat(first(configurations).getProperties().getTimeToLive()).isEqualTo(ofSeconds(1000));
         assertThat(first(configurations).getProperties().getRetryEnabled()).isTrue();
         assertThat(first(configurations).getProperties().getExceptionThrowingEnabled()).isTrue();
+        assertThat(first(configurations).isWriteSuppressionEnabled()).isTrue();
+        assertThat(first(configurations).getWriteSuppressionMaximumSize()).isEqualTo(100);
+        assertThat(first(configurations).isWriteSuppressionTouchEnabled()).isTrue();
+        assertThat(first(configurations).getNearCacheCapacity()).isEqualTo(1024 * 1024);
+        assertThat(first(configurations).getDiskTierDirectory()).isEqualTo("/var/cache/evcache");
+        assertThat(first(configurations).getDiskTierSegmentSize()).isEqualTo(16 * 1024 * 1024);
+        assertThat(first(configurations).getKeyManifestDirectory()).isEqualTo("/var/cache/evcache");
+        assertThat(first(configurations).getKeyManifestSize()).isEqualTo(50);
+        assertThat(first(configurations).getHotKeyThreshold()).isEqualTo(1000);
+        assertThat(first(configurations).getHotKeyMaximumSize()).isEqualTo(20);
+        assertThat(first(configurations).getHotKeyTimeToLive()).isEqualTo(ofSeconds(2));
+        assertThat(first(configurations).getHotKeyReplicas()).isEqualTo(3);
+        assertThat(first(configurations).getHotKeys()).containsOnly("celebrity", "trending");
+        assertThat(first(configurations).getMaximumKeyLength()).isEqualTo(150);
+        assertThat(first(configurations).getNegativeFilterExpectedInsertions()).isEqualTo(1000);
+        assertThat(first(configurations).getNegativeFilterTimeToLive()).isEqualTo(ofSeconds(30));
+        assertThat(first(configurations).getNegativeTimeToLive()).isEqualTo(ofSeconds(5));
+        assertThat(first(configurations).getAdaptiveTimeToLiveMaximum()).isEqualTo(ofSeconds(3600));
+        assertThat(first(configurations).getAdaptiveTimeToLiveMinimum()).isEqualTo(ofSeconds(30));
+        assertThat(first(configurations).getAdaptiveTimeToLiveJitter()).isEqualTo(0.2);
+        assertThat(first(configurations).getAdaptiveTimeToLiveMaximumSize()).isEqualTo(100);
+        assertThat(first(configurations).isSlidingExpiration()).isTrue();
+        assertThat(first(configurations).getSlidingExpirationTouchInterval()).isEqualTo(ofSeconds(5));
+        assertThat(first(configurations).getLeaseTimeToLive()).isEqualTo(ofSeconds(10));
+        assertThat(first(configurations).getUpdateMaximumAttempts()).isEqualTo(5);
+        assertThat(first(configurations).getUpdateBackoff()).isEqualTo(ofMillis(20));
+        assertThat(first(configurations).getUpdateLockTimeToLive()).isEqualTo(ofSeconds(3));
+        assertThat(first(configurations).getWriteBehindCapacity()).isEqualTo(1000);
+        assertThat(first(configurations).getWriteBehindBatchSize()).isEqualTo(50);
+        assertThat(first(configurations).getWriteBehindFlushInterval()).isEqualTo(ofMillis(200));
+        assertThat(first(configurations).getWritePolicy()).isEqualTo(EVCacheLatch.Policy.QUORUM);
+        assertThat(first(configurations).getWriteTimeout()).isEqualTo(ofMillis(500));
+        assertThat(first(configurations).getPrefetchMaximumSize()).isEqualTo(1000);
+        assertThat(first(configurations).getPrefetchWindow()).isEqualTo(ofMillis(50));
+        assertThat(first(configurations).getPrefetchConfidence()).isEqualTo(0.8);
+        assertThat(first(configurations).getPrefetchTimeToLive()).isEqualTo(ofSeconds(2));
         assertThat(second(configurations).getProperties().getKeyPrefix()).isEqualTo("test2");
         assertThat(second(configurations).getProperties().getRetryEnabled()).isFalse();
         assertThat(second(configurations).getProperties().getExceptionThrowingEnabled()).isFalse();
+        assertThat(second(configurations).isWriteSuppressionEnabled()).isFalse();
+        assertThat(second(configurations).getDiskTierDirectory()).isNull();
+        assertThat(second(configurations).getKeyManifestDirectory()).isNull();
     }
 
     private Cluster first(final Map<String, Cluster> clusters) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Time to live following how often values actually change, per class of values.
+ * Digests of recently written values are kept per key, and the interval between writes of a different value
+ * is averaged (EWMA) per class. A rewrite of the same value only raises the average when it has been unchanged
+ * for longer. The time to live is the average clamped within the bounds, shortened by a random jitter
+ * so that keys written together do not expire together.
+ *
+ * <p>Only values written by this process are known, careful when other processes write the same keys.
+ *
+ * @author Taeho Kim
+ */
+public class AdaptiveTimeToLive {
+    private static final double ALPHA = 0.2;
+    private final Cache<String, Revision> revisions;
+    private final ConcurrentMap<String, Double> intervals;
+    private final long minimumSeconds;
+    private final long maximumSeconds;
+    private final double jitter;
+    private final Ticker ticker;
+    private final DoubleSupplier random;
+
+    /**
+     * @param maximumSize the maximum number of keys to be tracked
+     * @param minimum     the minimum time to live
+     * @param maximum     the maximum time to live, not longer than 30 days
+     * @param jitter      the maximum ratio of the time to live to be shortened randomly, between 0 and 1
+     */
+    public AdaptiveTimeToLive(final int maximumSize,
+                              final Duration minimum,
+                              final Duration maximum,
+                              final double jitter) {
+        this(maximumSize,
+             minimum,
+             maximum,
+             jitter,
+             Ticker.systemTicker(),
+             () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    AdaptiveTimeToLive(final int maximumSize,
+                       final Duration minimum,
+                       final Duration maximum,
+                       final double jitter,
+                       final Ticker ticker,
+                       final DoubleSupplier random) {
+        Assert.state(maximumSize > 0, "`maximumSize` must be positive value");
+        Assert.notNull(minimum, "`minimum` must not be null");
+        Assert.notNull(maximum, "`maximum` must not be null");
+        Assert.state(minimum.getSeconds() > 0, "`minimum` must be positive value");
+        Assert.state(maximum.compareTo(minimum) >= 0, "`maximum` must not be less than `minimum`");
+        Assert.state(maximum.compareTo(EVCacheConfiguration.MAXIMUM_TIME_TO_LIVE) <= 0,
+                     "`maximum` must not be longer than 30 days");
+        Assert.state(jitter >= 0 && jitter < 1, "`jitter` must be between 0 and 1");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        Assert.notNull(random, "`random` must not be null");
+        this.revisions = CacheBuilder.newBuilder()
+                                     .maximumSize(maximumSize)
+                                     .build();
+        this.intervals = new ConcurrentHashMap<>();
+        this.minimumSeconds = minimum.getSeconds();
+        this.maximumSeconds = maximum.getSeconds();
+        this.jitter = jitter;
+        this.ticker = ticker;
+        this.random = random;
+    }
+
+    /**
+     * @param valueClass the class of the value
+     * @param key        the EVCache key
+     * @param data       the encoded value to be written
+     * @param fallback   the time to live until the class is observed, seconds
+     * @return the time to live, seconds, within the bounds after the jitter
+     */
+    public int timeToLive(final String valueClass, final String key, final byte[] data, final int fallback) {
+        final long now = ticker.read();
+        final long digest = Hashing.murmur3_128().hashBytes(data).asLong();
+        final Revision previous = revisions.getIfPresent(key);
+        if (previous == null || previous.digest != digest) {
+            revisions.put(key, new Revision(digest, now));
+        }
+        if (previous != null) {
+            final double elapsed = (double) (now - previous.changedAt) / TimeUnit.SECONDS.toNanos(1);
+            if (previous.digest == digest) {
+                intervals.merge(valueClass, elapsed, this::raise);
+            } else {
+                intervals.merge(valueClass, elapsed, this::ewma);
+            }
+        }
+        final Double interval = intervals.get(valueClass);
+        final double base = interval == null ? fallback : interval;
+        final double jittered = base * (1 - jitter * random.getAsDouble());
+        return (int) Math.max(minimumSeconds, Math.min(maximumSeconds, Math.round(jittered)));
+    }
+
+    private double ewma(final double average, final double sample) {
+        return average + ALPHA * (sample - average);
+    }
+
+    private double raise(final double average, final double sample) {
+        return sample > average ? ewma(average, sample) : average;
+    }
+
+    private static final class Revision {
+        private final long digest;
+        private final long changedAt;
+
+        private Revision(final long digest, final long changedAt) {
+            this.digest = digest;
+            this.changedAt = changedAt;
+        }
+    }
+}
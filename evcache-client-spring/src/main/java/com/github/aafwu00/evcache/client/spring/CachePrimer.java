@@ -0,0 +1,319 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import com.netflix.spectator.api.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of entries into a cache, such as repopulating it from the database.
+ * Entries are pulled from the stream only as fast as they are written, so that the whole of them is never
+ * kept in memory, and written by a bounded number of in-flight writes.
+ *
+ * <p>The limit of in-flight writes is adapted to the observed latency, additive increase by one per round of writes
+ * when the latency of a write is within the target latency, and multiplicative decrease by half at most once
+ * per round when the latency is over the target or a write fails, which backs off before overloading the cluster.
+ * The latency of a write is measured until the cache servers complete it, not until it is queued.
+ * A failed write is counted and skipped. Progress is reported to the listener every report interval and at the end.
+ *
+ * <p>Metrics: {@code evcache.prime.written}, {@code evcache.prime.failed} and {@code evcache.prime.latency}
+ * tagged with the cache name.
+ *
+ * @author Taeho Kim
+ * @see EVCacheManager#prime(String, Stream, Consumer)
+ */
+public class CachePrimer {
+    public static final int DEFAULT_MAXIMUM_IN_FLIGHT = 32;
+    public static final Duration DEFAULT_TARGET_LATENCY = Duration.ofMillis(10);
+    public static final Duration DEFAULT_REPORT_INTERVAL = Duration.ofSeconds(10);
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachePrimer.class);
+    private final int maximumInFlight;
+    private final long targetLatencyNanos;
+    private final long reportIntervalNanos;
+    private final Ticker ticker;
+    private final Registry registry;
+
+    public CachePrimer() {
+        this(DEFAULT_MAXIMUM_IN_FLIGHT, DEFAULT_TARGET_LATENCY, DEFAULT_REPORT_INTERVAL);
+    }
+
+    /**
+     * @param maximumInFlight the maximum number of in-flight writes
+     * @param targetLatency   the latency of a write over which the in-flight writes are decreased
+     * @param reportInterval  the interval of progress reports
+     */
+    public CachePrimer(final int maximumInFlight, final Duration targetLatency, final Duration reportInterval) {
+        this(maximumInFlight, targetLatency, reportInterval, Ticker.systemTicker(), Spectator.globalRegistry());
+    }
+
+    CachePrimer(final int maximumInFlight,
+                final Duration targetLatency,
+                final Duration reportInterval,
+                final Ticker ticker,
+                final Registry registry) {
+        Assert.state(maximumInFlight > 0, "`maximumInFlight` must be positive value");
+        Assert.notNull(targetLatency, "`targetLatency` must not be null");
+        Assert.notNull(reportInterval, "`reportInterval` must not be null");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        Assert.notNull(registry, "`registry` must not be null");
+        this.maximumInFlight = maximumInFlight;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.reportIntervalNanos = reportInterval.toNanos();
+        this.ticker = ticker;
+        this.registry = registry;
+    }
+
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    private ExecutorService writers() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("evcache-primer-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(maximumInFlight,
+                                      maximumInFlight,
+                                      0,
+                                      TimeUnit.MILLISECONDS,
+                                      new LinkedBlockingQueue<>(),
+                                      threadFactory);
+    }
+
+    /**
+     * @param cache    the cache to be primed
+     * @param entries  the entries to be written, closed at the end
+     * @param listener the listener of progress reports
+     * @return the final progress
+     */
+    public PrimingProgress prime(final EVCache cache,
+                                 final Stream<? extends Map.Entry<?, ?>> entries,
+                                 final Consumer<PrimingProgress> listener) {
+        Assert.notNull(entries, "`entries` must not be null");
+        try (Stream<? extends Map.Entry<?, ?>> stream = entries) {
+            return prime(cache, stream.iterator(), listener);
+        }
+    }
+
+    /**
+     * Stops priming when the current thread is interrupted, with the interrupt status kept.
+     *
+     * @param cache    the cache to be primed
+     * @param entries  the entries to be written
+     * @param listener the listener of progress reports
+     * @return the final progress
+     */
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    public PrimingProgress prime(final EVCache cache,
+                                 final Iterator<? extends Map.Entry<?, ?>> entries,
+                                 final Consumer<PrimingProgress> listener) {
+        Assert.notNull(cache, "`cache` must not be null");
+        Assert.notNull(entries, "`entries` must not be null");
+        Assert.notNull(listener, "`listener` must not be null");
+        final Run run = new Run(cache);
+        final ExecutorService writers = writers();
+        long lastReport = run.start;
+        try {
+            while (entries.hasNext()) {
+                run.window.acquire();
+                final Map.Entry<?, ?> entry = entries.next();
+                writers.execute(() -> run.write(entry));
+                final long now = ticker.read();
+                if (now - lastReport >= reportIntervalNanos) {
+                    lastReport = now;
+                    listener.accept(run.progress());
+                }
+            }
+            run.window.drain();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Priming of {} interrupted, {}", cache.getName(), run.progress());
+        } finally {
+            writers.shutdown();
+        }
+        final PrimingProgress result = run.progress();
+        listener.accept(result);
+        return result;
+    }
+
+    private final class Run {
+        private final EVCache cache;
+        private final Window window;
+        private final AtomicLong written;
+        private final AtomicLong failed;
+        private final Counter writtenCounter;
+        private final Counter failedCounter;
+        private final Timer latency;
+        private final long start;
+
+        private Run(final EVCache cache) {
+            this.cache = cache;
+            this.window = new Window(maximumInFlight, targetLatencyNanos);
+            this.written = new AtomicLong();
+            this.failed = new AtomicLong();
+            this.writtenCounter = registry.counter("evcache.prime.written", "cache", cache.getName());
+            this.failedCounter = registry.counter("evcache.prime.failed", "cache", cache.getName());
+            this.latency = registry.timer("evcache.prime.latency", "cache", cache.getName());
+            this.start = ticker.read();
+        }
+
+        private void write(final Map.Entry<?, ?> entry) {
+            final long begin = ticker.read();
+            boolean success = false;
+            try {
+                success = isCompleted(EVCacheImpl.writesOf(cache, entry.getKey(), entry.getValue()));
+            } catch (final RuntimeException ex) {
+                LOGGER.debug("Priming of {} failed to write {}", cache.getName(), entry.getKey(), ex);
+            } finally {
+                final long elapsed = ticker.read() - begin;
+                latency.record(elapsed, TimeUnit.NANOSECONDS);
+                count(success);
+                window.release(elapsed, success);
+            }
+        }
+
+        private boolean isCompleted(final List<Future<Boolean>> writes) {
+            try {
+                for (final Future<Boolean> write : writes) {
+                    if (!Boolean.TRUE.equals(write.get())) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (final ExecutionException ex) {
+                return false;
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private void count(final boolean success) {
+            if (success) {
+                written.incrementAndGet();
+                writtenCounter.increment();
+            } else {
+                failed.incrementAndGet();
+                failedCounter.increment();
+            }
+        }
+
+        private PrimingProgress progress() {
+            return new PrimingProgress(written.get(),
+                                       failed.get(),
+                                       Duration.ofNanos(ticker.read() - start),
+                                       window.limit());
+        }
+    }
+
+    /**
+     * Limit of in-flight writes by additive increase and multiplicative decrease.
+     */
+    static final class Window {
+        private final int maximum;
+        private final long targetLatencyNanos;
+        private final ReentrantLock lock;
+        private final Condition released;
+        private double limit;
+        private int inFlight;
+        private int releasedSinceDecrease;
+
+        Window(final int maximum, final long targetLatencyNanos) {
+            this.maximum = maximum;
+            this.targetLatencyNanos = targetLatencyNanos;
+            this.lock = new ReentrantLock();
+            this.released = lock.newCondition();
+            this.limit = 1;
+        }
+
+        void acquire() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (inFlight >= (int) limit) {
+                    released.await();
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(final long latencyNanos, final boolean success) {
+            lock.lock();
+            try {
+                inFlight--;
+                releasedSinceDecrease++;
+                if (success && latencyNanos <= targetLatencyNanos) {
+                    limit = Math.min(maximum, limit + 1 / limit);
+                } else if (releasedSinceDecrease >= limit) {
+                    limit = Math.max(1, limit / 2);
+                    releasedSinceDecrease = 0;
+                }
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void drain() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (inFlight > 0) {
+                    released.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int limit() {
+            lock.lock();
+            try {
+                return (int) limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int inFlight() {
+            lock.lock();
+            try {
+                return inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+
+/**
+ * Pass through {@link Transcoder} for values already encoded, so that they are not encoded twice.
+ *
+ * @author Taeho Kim
+ */
+final class CachedDataTranscoder implements Transcoder<CachedData> {
+    static final CachedDataTranscoder INSTANCE = new CachedDataTranscoder();
+
+    private CachedDataTranscoder() {
+    }
+
+    @Override
+    public boolean asyncDecode(final CachedData data) {
+        return false;
+    }
+
+    @Override
+    public CachedData encode(final CachedData data) {
+        return data;
+    }
+
+    @Override
+    public CachedData decode(final CachedData data) {
+        return data;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return CachedData.MAX_SIZE;
+    }
+}
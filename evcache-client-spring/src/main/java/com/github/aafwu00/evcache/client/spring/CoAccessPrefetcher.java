@@ -0,0 +1,314 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import net.spy.memcached.CachedData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Prefetcher of keys read after a leading key, such as {@code prefs:X} and {@code avatar:X} after {@code user:X}.
+ * A key read by the same thread within the window after another key is counted as a follower of it,
+ * and on a read of a leading key, the followers of which ratio to the reads of the leading key is
+ * at least the confidence are fetched with a bulk get in background, into a buffer of short time to live.
+ *
+ * <p>Memory is bounded: the leading keys are kept up to the maximum size, the followers of a leading key
+ * are counted with a Misra-Gries summary of a few counters, and the counts are halved periodically
+ * so that recent reads weigh more. A prefetched value is dropped when its key is written or evicted.
+ *
+ * <p>Metrics: {@code evcache.prefetch.issued} keys, {@code evcache.prefetch.hits} of prefetched values read,
+ * {@code evcache.prefetch.wasted} of prefetched values expired without being read, and
+ * {@code evcache.prefetch.wastedBytes} of them, tagged with the cache name. The accuracy is hits over
+ * hits and wasted.
+ *
+ * @author Taeho Kim
+ */
+public class CoAccessPrefetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoAccessPrefetcher.class);
+    private static final int MAXIMUM_FOLLOWERS = 8;
+    private static final int MINIMUM_READS = 4;
+    private static final int DECAY_READS = 1024;
+    private static final int MAXIMUM_QUEUED = 1_000;
+    private final long windowNanos;
+    private final double confidence;
+    private final Executor prefetcher;
+    private final Ticker ticker;
+    private final Cache<String, Followers> patterns;
+    private final Cache<String, CachedData> prefetched;
+    private final Map<String, Object> inFlight;
+    private final ThreadLocal<Access> lastAccess;
+    private final Counter issued;
+    private final Counter hits;
+    private final Counter wasted;
+    private final Counter wastedBytes;
+    private final AtomicReference<Loader> loader;
+
+    /**
+     * @param name        the name of the cache, tagged to metrics
+     * @param maximumSize the maximum number of leading keys
+     * @param window      the maximum interval between reads of a leading key and a follower
+     * @param confidence  the minimum ratio of reads of a leading key followed by a key to prefetch it
+     * @param timeToLive  the time to live of prefetched values
+     */
+    public CoAccessPrefetcher(final String name,
+                              final int maximumSize,
+                              final Duration window,
+                              final double confidence,
+                              final Duration timeToLive) {
+        this(name, maximumSize, window, confidence, timeToLive, prefetcher(), Ticker.systemTicker(),
+             Spectator.globalRegistry());
+    }
+
+    CoAccessPrefetcher(final String name,
+                       final int maximumSize,
+                       final Duration window,
+                       final double confidence,
+                       final Duration timeToLive,
+                       final Executor prefetcher,
+                       final Ticker ticker,
+                       final Registry registry) {
+        Assert.notNull(name, "`name` must not be null");
+        Assert.state(maximumSize > 0, "`maximumSize` must be positive value");
+        Assert.notNull(window, "`window` must not be null");
+        Assert.state(confidence > 0 && confidence <= 1, "`confidence` must be between 0 and 1");
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.notNull(prefetcher, "`prefetcher` must not be null");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        Assert.notNull(registry, "`registry` must not be null");
+        this.windowNanos = window.toNanos();
+        this.confidence = confidence;
+        this.prefetcher = prefetcher;
+        this.ticker = ticker;
+        this.patterns = CacheBuilder.newBuilder()
+                                    .maximumSize(maximumSize)
+                                    .build();
+        this.prefetched = CacheBuilder.newBuilder()
+                                      .maximumSize((long) maximumSize * MAXIMUM_FOLLOWERS)
+                                      .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                                      .ticker(ticker)
+                                      .<String, CachedData>removalListener(this::removed)
+                                      .build();
+        this.inFlight = new ConcurrentHashMap<>();
+        this.lastAccess = ThreadLocal.withInitial(Access::new);
+        this.issued = registry.counter("evcache.prefetch.issued", "cache", name);
+        this.hits = registry.counter("evcache.prefetch.hits", "cache", name);
+        this.wasted = registry.counter("evcache.prefetch.wasted", "cache", name);
+        this.wastedBytes = registry.counter("evcache.prefetch.wastedBytes", "cache", name);
+        this.loader = new AtomicReference<>();
+    }
+
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    private static Executor prefetcher() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("evcache-prefetcher-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(1,
+                                      1,
+                                      0,
+                                      TimeUnit.MILLISECONDS,
+                                      new ArrayBlockingQueue<>(MAXIMUM_QUEUED),
+                                      threadFactory);
+    }
+
+    /**
+     * @param loader the bulk loader of values from the remote cluster
+     */
+    public void attach(final Loader loader) {
+        Assert.notNull(loader, "`loader` must not be null");
+        this.loader.set(loader);
+    }
+
+    /**
+     * Learn the read of the key by the current thread, and prefetch the likely followers of it
+     *
+     * @param key the EVCache key
+     * @return the prefetched value, {@code null} when not prefetched
+     */
+    public CachedData read(final String key) {
+        learn(key);
+        final CachedData result = prefetched.asMap().remove(key);
+        if (result != null) {
+            hits.increment();
+        }
+        prefetch(key);
+        return result;
+    }
+
+    private void learn(final String key) {
+        final long now = ticker.read();
+        final Access last = lastAccess.get();
+        if (last.key != null && !last.key.equals(key) && now - last.nanos <= windowNanos) {
+            final Followers followers = patterns.getIfPresent(last.key);
+            if (followers != null) {
+                followers.follow(key);
+            }
+        }
+        last.key = key;
+        last.nanos = now;
+        patterns.asMap().computeIfAbsent(key, leading -> new Followers()).read();
+    }
+
+    private void prefetch(final String key) {
+        final Followers followers = patterns.getIfPresent(key);
+        if (followers == null) {
+            return;
+        }
+        final Object token = new Object();
+        final List<String> keys = followers.likely(confidence)
+                                           .stream()
+                                           .filter(follower -> prefetched.getIfPresent(follower) == null)
+                                           .filter(follower -> inFlight.putIfAbsent(follower, token) == null)
+                                           .collect(Collectors.toList());
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            prefetcher.execute(() -> load(keys, token));
+            issued.increment(keys.size());
+        } catch (final RejectedExecutionException ex) {
+            keys.forEach(follower -> inFlight.remove(follower, token));
+        }
+    }
+
+    /**
+     * A key invalidated while in flight is not buffered, which keeps the value read before the write out
+     */
+    private void load(final List<String> keys, final Object token) {
+        try {
+            final Map<String, CachedData> values = loader.get().load(keys);
+            values.forEach((key, data) -> {
+                if (data != null && inFlight.remove(key, token)) {
+                    prefetched.put(key, data);
+                }
+            });
+        } catch (final com.netflix.evcache.EVCacheException | RuntimeException ex) {
+            LOGGER.debug("Can not prefetch keys: {}", keys, ex);
+        } finally {
+            keys.forEach(key -> inFlight.remove(key, token));
+        }
+    }
+
+    private void removed(final RemovalNotification<String, CachedData> notification) {
+        if (notification.wasEvicted()) {
+            wasted.increment();
+            wastedBytes.increment(notification.getValue().getData().length);
+        }
+    }
+
+    /**
+     * @param key the EVCache key written or evicted
+     */
+    public void invalidate(final String key) {
+        inFlight.remove(key);
+        prefetched.invalidate(key);
+    }
+
+    /**
+     * Stop prefetching in background, a read after close is not prefetched
+     */
+    public void close() {
+        if (prefetcher instanceof ExecutorService) {
+            ((ExecutorService) prefetcher).shutdown();
+        }
+    }
+
+    /**
+     * Bulk loader of values from the remote cluster
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @param keys the EVCache keys
+         * @return the values by the key, absent keys are omitted
+         * @throws com.netflix.evcache.EVCacheException if the values can not be loaded
+         */
+        Map<String, CachedData> load(Collection<String> keys) throws com.netflix.evcache.EVCacheException;
+    }
+
+    private static final class Access {
+        private String key;
+        private long nanos;
+    }
+
+    /**
+     * Followers of a leading key, counted with a Misra-Gries summary
+     */
+    private static final class Followers {
+        private final Object lock = new Object();
+        private final Map<String, Integer> counts = new HashMap<>();
+        private int reads;
+
+        private void read() {
+            synchronized (lock) {
+                reads++;
+                if (reads >= DECAY_READS) {
+                    reads /= 2;
+                    counts.replaceAll((key, count) -> count / 2);
+                    counts.values().removeIf(count -> count == 0);
+                }
+            }
+        }
+
+        private void follow(final String key) {
+            synchronized (lock) {
+                if (counts.containsKey(key) || counts.size() < MAXIMUM_FOLLOWERS) {
+                    counts.merge(key, 1, Integer::sum);
+                    return;
+                }
+                counts.replaceAll((follower, count) -> count - 1);
+                counts.values().removeIf(count -> count == 0);
+            }
+        }
+
+        private List<String> likely(final double confidence) {
+            synchronized (lock) {
+                if (reads < MINIMUM_READS) {
+                    return Collections.emptyList();
+                }
+                return counts.entrySet()
+                             .stream()
+                             .filter(entry -> entry.getValue() >= confidence * reads)
+                             .map(Map.Entry::getKey)
+                             .collect(Collectors.toList());
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cuckoo filter of 16-bit fingerprints in buckets of four, supporting deletion.
+ * The false positive rate is about {@code 8 / 2^16} when loaded to the capacity. Not thread safe.
+ *
+ * @author Taeho Kim
+ */
+class CuckooFilter {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAXIMUM_KICKS = 500;
+    private static final double LOAD_FACTOR = 0.95;
+    private final short[] table;
+    private final int mask;
+    private final int capacity;
+    private int size;
+
+    /**
+     * @param capacity the number of keys to be inserted
+     */
+    CuckooFilter(final int capacity) {
+        final int minimumBuckets = Math.max(2, (int) Math.ceil(capacity / LOAD_FACTOR / BUCKET_SIZE));
+        final int buckets = Integer.highestOneBit(minimumBuckets - 1) << 1;
+        this.table = new short[buckets * BUCKET_SIZE];
+        this.mask = buckets - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return {@code false} when the filter is full
+     */
+    boolean put(final String key) {
+        final long hash = hash(key);
+        short fingerprint = fingerprint(hash);
+        int index = (int) hash & mask;
+        if (contains(index, fingerprint) || contains(alternate(index, fingerprint), fingerprint)) {
+            return true;
+        }
+        if (size >= capacity) {
+            return false;
+        }
+        if (insert(index, fingerprint) || insert(alternate(index, fingerprint), fingerprint)) {
+            size++;
+            return true;
+        }
+        for (int kick = 0; kick < MAXIMUM_KICKS; kick++) {
+            final int slot = index * BUCKET_SIZE + ThreadLocalRandom.current().nextInt(BUCKET_SIZE);
+            final short victim = table[slot];
+            table[slot] = fingerprint;
+            fingerprint = victim;
+            index = alternate(index, fingerprint);
+            if (insert(index, fingerprint)) {
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean mightContain(final String key) {
+        final long hash = hash(key);
+        final short fingerprint = fingerprint(hash);
+        final int index = (int) hash & mask;
+        return contains(index, fingerprint) || contains(alternate(index, fingerprint), fingerprint);
+    }
+
+    void remove(final String key) {
+        final long hash = hash(key);
+        final short fingerprint = fingerprint(hash);
+        final int index = (int) hash & mask;
+        if (delete(index, fingerprint) || delete(alternate(index, fingerprint), fingerprint)) {
+            size--;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private long hash(final String key) {
+        return HASH_FUNCTION.hashString(key, UTF_8).asLong();
+    }
+
+    private short fingerprint(final long hash) {
+        final short result = (short) (hash >>> 48);
+        return result == 0 ? 1 : result;
+    }
+
+    private int alternate(final int index, final short fingerprint) {
+        return (index ^ (fingerprint * 0x5bd1e995)) & mask;
+    }
+
+    private boolean contains(final int index, final short fingerprint) {
+        for (int slot = index * BUCKET_SIZE; slot < (index + 1) * BUCKET_SIZE; slot++) {
+            if (table[slot] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean insert(final int index, final short fingerprint) {
+        for (int slot = index * BUCKET_SIZE; slot < (index + 1) * BUCKET_SIZE; slot++) {
+            if (table[slot] == 0) {
+                table[slot] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean delete(final int index, final short fingerprint) {
+        for (int slot = index * BUCKET_SIZE; slot < (index + 1) * BUCKET_SIZE; slot++) {
+            if (table[slot] == fingerprint) {
+                table[slot] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+
+/**
+ * {@link EVCacheKeyEncoder} validating and deleting whitespace in a single pass into a reusable buffer.
+ * A {@link String} without whitespace is used as it is, and a {@link SimpleKey} is written element by element
+ * instead of {@link SimpleKey#toString()}.
+ *
+ * <p>Keys are the same as {@code key.toString()} with whitespace deleted, so a {@link SimpleKey} is
+ * {@code SimpleKey[a,b]}, which is also accepted when whitespace is not to be deleted.
+ *
+ * @author Taeho Kim
+ */
+public class DefaultEVCacheKeyEncoder implements EVCacheKeyEncoder {
+    private static final int MAXIMUM_BUFFER_SIZE = 1024;
+    private static final String SIMPLE_KEY_PREFIX = SimpleKey.class.getSimpleName() + "[";
+    private static final Field SIMPLE_KEY_PARAMS = findSimpleKeyParams();
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+    private final boolean deleteWhitespaceKey;
+
+    /**
+     * @param deleteWhitespaceKey delete whitespace key. careful, both of 'ab' and 'a b' are same key
+     */
+    public DefaultEVCacheKeyEncoder(final boolean deleteWhitespaceKey) {
+        this.deleteWhitespaceKey = deleteWhitespaceKey;
+    }
+
+    private static Field findSimpleKeyParams() {
+        final Field result = ReflectionUtils.findField(SimpleKey.class, "params", Object[].class);
+        if (result != null) {
+            ReflectionUtils.makeAccessible(result);
+        }
+        return result;
+    }
+
+    @Override
+    public String encode(final Object key) {
+        if (key == null) {
+            throw new EVCacheInvalidKeyException("Key must not be null");
+        }
+        if (key instanceof Number || key instanceof UUID) {
+            return key.toString();
+        }
+        if (key instanceof SimpleKey && SIMPLE_KEY_PARAMS != null) {
+            return encodeSimpleKey((SimpleKey) key);
+        }
+        return encodeString(key.toString());
+    }
+
+    private String encodeString(final String key) {
+        if (key.isEmpty()) {
+            throw new EVCacheInvalidKeyException("Key must not be empty");
+        }
+        final int whitespace = indexOfWhitespace(key);
+        if (whitespace < 0) {
+            return key;
+        }
+        final StringBuilder buffer = buffer();
+        buffer.append(key, 0, whitespace);
+        append(buffer, key, whitespace);
+        if (buffer.length() == 0) {
+            throw new EVCacheInvalidKeyException("Deleted whitespace key is empty");
+        }
+        return buffer.toString();
+    }
+
+    private String encodeSimpleKey(final SimpleKey key) {
+        final Object[] params = (Object[]) ReflectionUtils.getField(SIMPLE_KEY_PARAMS, key);
+        final StringBuilder buffer = buffer();
+        buffer.append(SIMPLE_KEY_PREFIX);
+        for (int index = 0; index < params.length; index++) {
+            if (index > 0) {
+                buffer.append(',');
+            }
+            append(buffer, String.valueOf(params[index]));
+        }
+        buffer.append(']');
+        return buffer.toString();
+    }
+
+    private void append(final StringBuilder buffer, final String value) {
+        final int whitespace = indexOfWhitespace(value);
+        if (whitespace < 0) {
+            buffer.append(value);
+            return;
+        }
+        buffer.append(value, 0, whitespace);
+        append(buffer, value, whitespace);
+    }
+
+    private void append(final StringBuilder buffer, final String value, final int whitespace) {
+        if (!deleteWhitespaceKey) {
+            throw new EVCacheInvalidKeyException("Key must not be contain whitespace");
+        }
+        for (int index = whitespace; index < value.length(); index++) {
+            final char ch = value.charAt(index);
+            if (!Character.isWhitespace(ch)) {
+                buffer.append(ch);
+            }
+        }
+    }
+
+    private int indexOfWhitespace(final String value) {
+        for (int index = 0; index < value.length(); index++) {
+            if (Character.isWhitespace(value.charAt(index))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private StringBuilder buffer() {
+        StringBuilder result = BUFFER.get();
+        if (result.capacity() > MAXIMUM_BUFFER_SIZE) {
+            result = new StringBuilder();
+            BUFFER.set(result);
+        }
+        result.setLength(0);
+        return result;
+    }
+}
@@ -18,6 +18,11 @@ package com.github.aafwu00.evcache.client.spring;
 
 import org.springframework.cache.Cache;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
 /**
  * @author Taeho Kim
  */
@@ -32,4 +37,39 @@ public interface EVCache extends Cache {
 
     @Override
     com.netflix.evcache.EVCache getNativeCache();
+
+    /**
+     * Associate the specified value with the specified key in this cache, expiring after the given time to live.
+     *
+     * @param key        the key with which the specified value is to be associated
+     * @param value      the value to be associated with the specified key
+     * @param timeToLive the time to live of the value, rounded up to seconds
+     * @see EVCacheExpirable
+     */
+    void put(Object key, Object value, Duration timeToLive);
+
+    /**
+     * Read, modify and write the value of the specified key, excluding concurrent updates of the same key
+     * across processes, so that no update is lost.
+     * Updates are excluded by a held key rather than {@code gets}/{@code cas}, which are not exposed by the EVCache
+     * client, so plain puts of the same key are not excluded.
+     *
+     * @param key     the key whose associated value is to be updated
+     * @param updater the function of the current value, {@code null} when absent, to the new value
+     * @param <T>     the type of the value
+     * @return the new value
+     * @throws EVCacheUpdateException when concurrent updates did not let the update in,
+     *                                 or the update outlived the hold before its write
+     * @see UpdateGuard
+     */
+    <T> T update(Object key, UnaryOperator<T> updater);
+
+    /**
+     * Evict and put in bulk, issuing all operations before waiting for any acknowledgement.
+     *
+     * @param puts   the values by the keys to be put
+     * @param evicts the keys to be evicted
+     * @see WritePolicy
+     */
+    void writeAll(Map<?, ?> puts, Collection<?> evicts);
 }
@@ -17,11 +17,14 @@
 package com.github.aafwu00.evcache.client.spring;
 
 import com.netflix.evcache.EVCacheClientPoolConfigurationProperties;
+import com.netflix.evcache.EVCacheLatch;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.Assert;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Configuration for {@link EVCacheManager}
@@ -30,6 +33,17 @@ import java.util.Objects;
  */
 public class EVCacheConfiguration {
     public static final String PATTERN_KEY_PREFIX = "[^:\\s]*";
+    /**
+     * Default Time To Live(TTL) of {@link com.netflix.evcache.EVCache.Builder}
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(900);
+    /**
+     * Maximum Time To Live(TTL) of memcached, longer one is taken as an absolute unix time
+     */
+    public static final Duration MAXIMUM_TIME_TO_LIVE = Duration.ofDays(30);
+    public static final int DEFAULT_UPDATE_MAXIMUM_ATTEMPTS = 10;
+    public static final Duration DEFAULT_UPDATE_BACKOFF = Duration.ofMillis(10);
+    public static final Duration DEFAULT_UPDATE_LOCK_TIME_TO_LIVE = Duration.ofSeconds(10);
     /**
      * Name of the Cache, {@link org.springframework.cache.annotation.Cacheable#cacheNames()}
      */
@@ -43,6 +57,159 @@ public class EVCacheConfiguration {
      */
     private final int striped;
     private final EVCacheClientPoolConfigurationProperties properties;
+    /**
+     * Skip writing values byte-identical to the ones recently written by this process. {@link WriteSuppressor}
+     */
+    private boolean writeSuppressionEnabled;
+    /**
+     * the maximum number of keys to be tracked for write suppression
+     */
+    private int writeSuppressionMaximumSize = 10_000;
+    /**
+     * Refresh Time To Live(TTL) with touch instead of the suppressed write
+     */
+    private boolean writeSuppressionTouchEnabled;
+    /**
+     * the maximum bytes of off-heap near cache, zero is disabled. {@link OffHeapNearCache}
+     */
+    private long nearCacheCapacity;
+    /**
+     * Time To Live(TTL) of off-heap near cache
+     */
+    private Duration nearCacheTimeToLive = Duration.ofSeconds(10);
+    /**
+     * the directory of memory-mapped disk tier, {@code null} is disabled. {@link MappedDiskTier}
+     */
+    private String diskTierDirectory;
+    /**
+     * the bytes of a segment file of memory-mapped disk tier
+     */
+    private int diskTierSegmentSize = 64 * 1024 * 1024;
+    /**
+     * the maximum bytes of all segment files of memory-mapped disk tier
+     */
+    private long diskTierMaximumSize = 1024L * 1024 * 1024;
+    /**
+     * the directory of hot key manifest to be prefetched at startup, {@code null} is disabled. {@link KeyManifest}
+     */
+    private String keyManifestDirectory;
+    /**
+     * the maximum number of keys in hot key manifest
+     */
+    private int keyManifestSize = 100;
+    /**
+     * the minimum reads per second of a key to be promoted into hot key cache, zero is disabled. {@link HotKeyCache}
+     */
+    private double hotKeyThreshold;
+    /**
+     * the maximum number of keys in hot key cache
+     */
+    private int hotKeyMaximumSize = 50;
+    /**
+     * Time To Live(TTL) of hot key cache and of copies of hot keys
+     */
+    private Duration hotKeyTimeToLive = Duration.ofSeconds(1);
+    /**
+     * the number of copies of a hot key spread over servers, less than two is disabled. {@link KeyReplicator}
+     */
+    private int hotKeyReplicas;
+    /**
+     * the keys always replicated, in addition to the keys promoted by hot key cache
+     */
+    private Set<String> hotKeys = Collections.emptySet();
+    /**
+     * the maximum bytes of a key to be kept as it is, longer keys are digested, zero is disabled. {@link KeyDigester}
+     */
+    private int maximumKeyLength;
+    /**
+     * the number of absent keys of a generation of negative lookup filter, zero is disabled. {@link NegativeLookupFilter}
+     */
+    private int negativeFilterExpectedInsertions;
+    /**
+     * the time to live of {@code null} values, zero is same as the time to live
+     */
+    private Duration negativeTimeToLive = Duration.ZERO;
+    /**
+     * the maximum time to live decided by how often values change, zero is disabled. {@link AdaptiveTimeToLive}
+     */
+    private Duration adaptiveTimeToLiveMaximum = Duration.ZERO;
+    /**
+     * the minimum time to live decided by how often values change
+     */
+    private Duration adaptiveTimeToLiveMinimum = Duration.ofMinutes(1);
+    /**
+     * the maximum ratio of the adaptive time to live to be shortened randomly
+     */
+    private double adaptiveTimeToLiveJitter = 0.1;
+    /**
+     * the maximum number of keys of which changes are tracked
+     */
+    private int adaptiveTimeToLiveMaximumSize = 10_000;
+    /**
+     * restart the time to live on each access. {@link SlidingExpiration}
+     */
+    private boolean slidingExpiration;
+    /**
+     * the minimum interval between touches of a key by sliding expiration
+     */
+    private Duration slidingExpirationTouchInterval = Duration.ofSeconds(10);
+    /**
+     * the time to live of a lease taken on a miss, longer than the loads, zero is disabled. {@link Leases}
+     */
+    private Duration leaseTimeToLive = Duration.ZERO;
+    /**
+     * the maximum number of attempts of an update. {@link UpdateGuard}
+     */
+    private int updateMaximumAttempts = DEFAULT_UPDATE_MAXIMUM_ATTEMPTS;
+    /**
+     * the base of the backoff between attempts of an update
+     */
+    private Duration updateBackoff = DEFAULT_UPDATE_BACKOFF;
+    /**
+     * the time to live of a taken update, longer than the updates
+     */
+    private Duration updateLockTimeToLive = DEFAULT_UPDATE_LOCK_TIME_TO_LIVE;
+    /**
+     * the maximum number of keys pending to be written behind, zero is disabled. {@link WriteBehindBuffer}
+     */
+    private int writeBehindCapacity;
+    /**
+     * the number of keys written behind at once
+     */
+    private int writeBehindBatchSize = 100;
+    /**
+     * the maximum interval between flushes of writes behind
+     */
+    private Duration writeBehindFlushInterval = Duration.ofMillis(100);
+    /**
+     * the native latch policy of acknowledgement of writes, {@code null} not to wait. {@link WritePolicy}
+     */
+    private EVCacheLatch.Policy writePolicy;
+    /**
+     * the maximum time to wait for the acknowledgement of a write
+     */
+    private Duration writeTimeout = Duration.ofSeconds(1);
+    /**
+     * the maximum number of leading keys of which followers are learned to be prefetched, zero is disabled.
+     * {@link CoAccessPrefetcher}
+     */
+    private int prefetchMaximumSize;
+    /**
+     * the maximum interval between reads of a leading key and a follower by the same thread
+     */
+    private Duration prefetchWindow = Duration.ofMillis(100);
+    /**
+     * the minimum ratio of reads of a leading key followed by a key to prefetch it
+     */
+    private double prefetchConfidence = 0.5;
+    /**
+     * the time to live of prefetched values not read yet
+     */
+    private Duration prefetchTimeToLive = Duration.ofSeconds(1);
+    /**
+     * the maximum age of a generation of negative lookup filter, absent keys are skipped at most twice of it
+     */
+    private Duration negativeFilterTimeToLive = Duration.ofMinutes(1);
 
     /**
      * Instantiates a new EVCache configuration.
@@ -94,6 +261,7 @@ public class EVCacheConfiguration {
         Assert.notNull(keyPrefix, "`keyPrefix` must not be null");
         Assert.state(keyPrefix.matches(PATTERN_KEY_PREFIX), "`keyPrefix` must not contain colon(:) or whitespace");
         Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.state(timeToLive.compareTo(MAXIMUM_TIME_TO_LIVE) <= 0, "`timeToLive` must not be longer than 30 days");
         final EVCacheClientPoolConfigurationProperties result = new EVCacheClientPoolConfigurationProperties();
         result.setKeyPrefix(keyPrefix);
         result.setTimeToLive(timeToLive);
@@ -134,4 +302,353 @@ public class EVCacheConfiguration {
     public EVCacheClientPoolConfigurationProperties getProperties() {
         return properties;
     }
+
+    /**
+     * @return Time To Live(TTL) of properties, or {@link #DEFAULT_TIME_TO_LIVE} when absent
+     */
+    public Duration getTimeToLive() {
+        return properties.getTimeToLive() == null ? DEFAULT_TIME_TO_LIVE : properties.getTimeToLive();
+    }
+
+    public boolean isWriteSuppressionEnabled() {
+        return writeSuppressionEnabled;
+    }
+
+    public void setWriteSuppressionEnabled(final boolean writeSuppressionEnabled) {
+        this.writeSuppressionEnabled = writeSuppressionEnabled;
+    }
+
+    public int getWriteSuppressionMaximumSize() {
+        return writeSuppressionMaximumSize;
+    }
+
+    public void setWriteSuppressionMaximumSize(final int writeSuppressionMaximumSize) {
+        Assert.state(writeSuppressionMaximumSize > 0, "`writeSuppressionMaximumSize` must be positive value");
+        this.writeSuppressionMaximumSize = writeSuppressionMaximumSize;
+    }
+
+    public boolean isWriteSuppressionTouchEnabled() {
+        return writeSuppressionTouchEnabled;
+    }
+
+    public void setWriteSuppressionTouchEnabled(final boolean writeSuppressionTouchEnabled) {
+        this.writeSuppressionTouchEnabled = writeSuppressionTouchEnabled;
+    }
+
+    public long getNearCacheCapacity() {
+        return nearCacheCapacity;
+    }
+
+    public void setNearCacheCapacity(final long nearCacheCapacity) {
+        Assert.state(nearCacheCapacity >= 0, "`nearCacheCapacity` must not be negative");
+        this.nearCacheCapacity = nearCacheCapacity;
+    }
+
+    public Duration getNearCacheTimeToLive() {
+        return nearCacheTimeToLive;
+    }
+
+    public void setNearCacheTimeToLive(final Duration nearCacheTimeToLive) {
+        Assert.notNull(nearCacheTimeToLive, "`nearCacheTimeToLive` must not be null");
+        this.nearCacheTimeToLive = nearCacheTimeToLive;
+    }
+
+    public String getDiskTierDirectory() {
+        return diskTierDirectory;
+    }
+
+    public void setDiskTierDirectory(final String diskTierDirectory) {
+        this.diskTierDirectory = diskTierDirectory;
+    }
+
+    public int getDiskTierSegmentSize() {
+        return diskTierSegmentSize;
+    }
+
+    public void setDiskTierSegmentSize(final int diskTierSegmentSize) {
+        Assert.state(diskTierSegmentSize > 0, "`diskTierSegmentSize` must be positive value");
+        this.diskTierSegmentSize = diskTierSegmentSize;
+    }
+
+    public long getDiskTierMaximumSize() {
+        return diskTierMaximumSize;
+    }
+
+    public void setDiskTierMaximumSize(final long diskTierMaximumSize) {
+        Assert.state(diskTierMaximumSize > 0, "`diskTierMaximumSize` must be positive value");
+        this.diskTierMaximumSize = diskTierMaximumSize;
+    }
+
+    public String getKeyManifestDirectory() {
+        return keyManifestDirectory;
+    }
+
+    public void setKeyManifestDirectory(final String keyManifestDirectory) {
+        this.keyManifestDirectory = keyManifestDirectory;
+    }
+
+    public int getKeyManifestSize() {
+        return keyManifestSize;
+    }
+
+    public void setKeyManifestSize(final int keyManifestSize) {
+        Assert.state(keyManifestSize > 0, "`keyManifestSize` must be positive value");
+        this.keyManifestSize = keyManifestSize;
+    }
+
+    public double getHotKeyThreshold() {
+        return hotKeyThreshold;
+    }
+
+    public void setHotKeyThreshold(final double hotKeyThreshold) {
+        Assert.state(hotKeyThreshold >= 0, "`hotKeyThreshold` must not be negative");
+        this.hotKeyThreshold = hotKeyThreshold;
+    }
+
+    public int getHotKeyMaximumSize() {
+        return hotKeyMaximumSize;
+    }
+
+    public void setHotKeyMaximumSize(final int hotKeyMaximumSize) {
+        Assert.state(hotKeyMaximumSize > 0, "`hotKeyMaximumSize` must be positive value");
+        this.hotKeyMaximumSize = hotKeyMaximumSize;
+    }
+
+    public Duration getHotKeyTimeToLive() {
+        return hotKeyTimeToLive;
+    }
+
+    public void setHotKeyTimeToLive(final Duration hotKeyTimeToLive) {
+        Assert.notNull(hotKeyTimeToLive, "`hotKeyTimeToLive` must not be null");
+        this.hotKeyTimeToLive = hotKeyTimeToLive;
+    }
+
+    public int getHotKeyReplicas() {
+        return hotKeyReplicas;
+    }
+
+    public void setHotKeyReplicas(final int hotKeyReplicas) {
+        Assert.state(hotKeyReplicas >= 0, "`hotKeyReplicas` must not be negative");
+        this.hotKeyReplicas = hotKeyReplicas;
+    }
+
+    public Set<String> getHotKeys() {
+        return hotKeys;
+    }
+
+    public void setHotKeys(final Set<String> hotKeys) {
+        Assert.notNull(hotKeys, "`hotKeys` must not be null");
+        this.hotKeys = hotKeys;
+    }
+
+    public int getMaximumKeyLength() {
+        return maximumKeyLength;
+    }
+
+    public void setMaximumKeyLength(final int maximumKeyLength) {
+        Assert.state(maximumKeyLength >= 0, "`maximumKeyLength` must not be negative");
+        this.maximumKeyLength = maximumKeyLength;
+    }
+
+    public int getNegativeFilterExpectedInsertions() {
+        return negativeFilterExpectedInsertions;
+    }
+
+    public void setNegativeFilterExpectedInsertions(final int negativeFilterExpectedInsertions) {
+        Assert.state(negativeFilterExpectedInsertions >= 0, "`negativeFilterExpectedInsertions` must not be negative");
+        this.negativeFilterExpectedInsertions = negativeFilterExpectedInsertions;
+    }
+
+    public Duration getNegativeFilterTimeToLive() {
+        return negativeFilterTimeToLive;
+    }
+
+    public void setNegativeFilterTimeToLive(final Duration negativeFilterTimeToLive) {
+        Assert.notNull(negativeFilterTimeToLive, "`negativeFilterTimeToLive` must not be null");
+        this.negativeFilterTimeToLive = negativeFilterTimeToLive;
+    }
+
+    public Duration getNegativeTimeToLive() {
+        return negativeTimeToLive;
+    }
+
+    public void setNegativeTimeToLive(final Duration negativeTimeToLive) {
+        Assert.notNull(negativeTimeToLive, "`negativeTimeToLive` must not be null");
+        Assert.state(!negativeTimeToLive.isNegative(), "`negativeTimeToLive` must not be negative");
+        Assert.state(negativeTimeToLive.compareTo(MAXIMUM_TIME_TO_LIVE) <= 0,
+                     "`negativeTimeToLive` must not be longer than 30 days");
+        this.negativeTimeToLive = negativeTimeToLive;
+    }
+
+    public Duration getAdaptiveTimeToLiveMaximum() {
+        return adaptiveTimeToLiveMaximum;
+    }
+
+    public void setAdaptiveTimeToLiveMaximum(final Duration adaptiveTimeToLiveMaximum) {
+        Assert.notNull(adaptiveTimeToLiveMaximum, "`adaptiveTimeToLiveMaximum` must not be null");
+        Assert.state(adaptiveTimeToLiveMaximum.compareTo(MAXIMUM_TIME_TO_LIVE) <= 0,
+                     "`adaptiveTimeToLiveMaximum` must not be longer than 30 days");
+        this.adaptiveTimeToLiveMaximum = adaptiveTimeToLiveMaximum;
+    }
+
+    public Duration getAdaptiveTimeToLiveMinimum() {
+        return adaptiveTimeToLiveMinimum;
+    }
+
+    public void setAdaptiveTimeToLiveMinimum(final Duration adaptiveTimeToLiveMinimum) {
+        Assert.notNull(adaptiveTimeToLiveMinimum, "`adaptiveTimeToLiveMinimum` must not be null");
+        this.adaptiveTimeToLiveMinimum = adaptiveTimeToLiveMinimum;
+    }
+
+    public double getAdaptiveTimeToLiveJitter() {
+        return adaptiveTimeToLiveJitter;
+    }
+
+    public void setAdaptiveTimeToLiveJitter(final double adaptiveTimeToLiveJitter) {
+        Assert.state(adaptiveTimeToLiveJitter >= 0 && adaptiveTimeToLiveJitter < 1,
+                     "`adaptiveTimeToLiveJitter` must be between 0 and 1");
+        this.adaptiveTimeToLiveJitter = adaptiveTimeToLiveJitter;
+    }
+
+    public int getAdaptiveTimeToLiveMaximumSize() {
+        return adaptiveTimeToLiveMaximumSize;
+    }
+
+    public void setAdaptiveTimeToLiveMaximumSize(final int adaptiveTimeToLiveMaximumSize) {
+        Assert.state(adaptiveTimeToLiveMaximumSize > 0, "`adaptiveTimeToLiveMaximumSize` must be positive value");
+        this.adaptiveTimeToLiveMaximumSize = adaptiveTimeToLiveMaximumSize;
+    }
+
+    public boolean isSlidingExpiration() {
+        return slidingExpiration;
+    }
+
+    public void setSlidingExpiration(final boolean slidingExpiration) {
+        this.slidingExpiration = slidingExpiration;
+    }
+
+    public Duration getSlidingExpirationTouchInterval() {
+        return slidingExpirationTouchInterval;
+    }
+
+    public void setSlidingExpirationTouchInterval(final Duration slidingExpirationTouchInterval) {
+        Assert.notNull(slidingExpirationTouchInterval, "`slidingExpirationTouchInterval` must not be null");
+        this.slidingExpirationTouchInterval = slidingExpirationTouchInterval;
+    }
+
+    public Duration getLeaseTimeToLive() {
+        return leaseTimeToLive;
+    }
+
+    public void setLeaseTimeToLive(final Duration leaseTimeToLive) {
+        Assert.notNull(leaseTimeToLive, "`leaseTimeToLive` must not be null");
+        this.leaseTimeToLive = leaseTimeToLive;
+    }
+
+    public int getUpdateMaximumAttempts() {
+        return updateMaximumAttempts;
+    }
+
+    public void setUpdateMaximumAttempts(final int updateMaximumAttempts) {
+        Assert.state(updateMaximumAttempts > 0, "`updateMaximumAttempts` must be positive value");
+        this.updateMaximumAttempts = updateMaximumAttempts;
+    }
+
+    public Duration getUpdateBackoff() {
+        return updateBackoff;
+    }
+
+    public void setUpdateBackoff(final Duration updateBackoff) {
+        Assert.notNull(updateBackoff, "`updateBackoff` must not be null");
+        this.updateBackoff = updateBackoff;
+    }
+
+    public Duration getUpdateLockTimeToLive() {
+        return updateLockTimeToLive;
+    }
+
+    public void setUpdateLockTimeToLive(final Duration updateLockTimeToLive) {
+        Assert.notNull(updateLockTimeToLive, "`updateLockTimeToLive` must not be null");
+        this.updateLockTimeToLive = updateLockTimeToLive;
+    }
+
+    public int getWriteBehindCapacity() {
+        return writeBehindCapacity;
+    }
+
+    public void setWriteBehindCapacity(final int writeBehindCapacity) {
+        Assert.state(writeBehindCapacity >= 0, "`writeBehindCapacity` must not be negative");
+        this.writeBehindCapacity = writeBehindCapacity;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public void setWriteBehindBatchSize(final int writeBehindBatchSize) {
+        Assert.state(writeBehindBatchSize > 0, "`writeBehindBatchSize` must be positive value");
+        this.writeBehindBatchSize = writeBehindBatchSize;
+    }
+
+    public Duration getWriteBehindFlushInterval() {
+        return writeBehindFlushInterval;
+    }
+
+    public void setWriteBehindFlushInterval(final Duration writeBehindFlushInterval) {
+        Assert.notNull(writeBehindFlushInterval, "`writeBehindFlushInterval` must not be null");
+        this.writeBehindFlushInterval = writeBehindFlushInterval;
+    }
+
+    public EVCacheLatch.Policy getWritePolicy() {
+        return writePolicy;
+    }
+
+    public void setWritePolicy(final EVCacheLatch.Policy writePolicy) {
+        this.writePolicy = writePolicy;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public void setWriteTimeout(final Duration writeTimeout) {
+        Assert.notNull(writeTimeout, "`writeTimeout` must not be null");
+        this.writeTimeout = writeTimeout;
+    }
+
+    public int getPrefetchMaximumSize() {
+        return prefetchMaximumSize;
+    }
+
+    public void setPrefetchMaximumSize(final int prefetchMaximumSize) {
+        Assert.state(prefetchMaximumSize >= 0, "`prefetchMaximumSize` must not be negative");
+        this.prefetchMaximumSize = prefetchMaximumSize;
+    }
+
+    public Duration getPrefetchWindow() {
+        return prefetchWindow;
+    }
+
+    public void setPrefetchWindow(final Duration prefetchWindow) {
+        Assert.notNull(prefetchWindow, "`prefetchWindow` must not be null");
+        this.prefetchWindow = prefetchWindow;
+    }
+
+    public double getPrefetchConfidence() {
+        return prefetchConfidence;
+    }
+
+    public void setPrefetchConfidence(final double prefetchConfidence) {
+        Assert.state(prefetchConfidence > 0 && prefetchConfidence <= 1, "`prefetchConfidence` must be between 0 and 1");
+        this.prefetchConfidence = prefetchConfidence;
+    }
+
+    public Duration getPrefetchTimeToLive() {
+        return prefetchTimeToLive;
+    }
+
+    public void setPrefetchTimeToLive(final Duration prefetchTimeToLive) {
+        Assert.notNull(prefetchTimeToLive, "`prefetchTimeToLive` must not be null");
+        this.prefetchTimeToLive = prefetchTimeToLive;
+    }
 }
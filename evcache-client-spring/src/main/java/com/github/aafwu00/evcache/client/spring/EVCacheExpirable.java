@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import java.time.Duration;
+
+/**
+ * Value deciding its own time to live, instead of the time to live of the cache.
+ *
+ * @author Taeho Kim
+ * @see EVCache#put(Object, Object, Duration)
+ */
+public interface EVCacheExpirable {
+    /**
+     * @return the time to live of this value, {@code null} is the time to live of the cache
+     */
+    Duration getTimeToLive();
+}
@@ -17,13 +17,32 @@
 package com.github.aafwu00.evcache.client.spring;
 
 import com.google.common.util.concurrent.Striped;
-import org.apache.commons.lang3.StringUtils;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheTranscoder;
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
 import org.springframework.cache.Cache;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 import static java.util.Objects.nonNull;
 
@@ -33,10 +52,31 @@ import static java.util.Objects.nonNull;
  * @author Taeho Kim
  */
 public class EVCacheImpl extends AbstractValueAdaptingCache implements EVCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EVCacheImpl.class);
+    private static final ThreadLocal<Map<String, EVCacheLatch>> DEFERRED_ACKNOWLEDGEMENTS = new ThreadLocal<>();
+    private static final ThreadLocal<List<Future<Boolean>>> AWAITED_WRITES = new ThreadLocal<>();
     private final String name;
     private final com.netflix.evcache.EVCache cache;
     private final Striped<Lock> locks;
-    private final boolean deleteWhitespaceKey;
+    private final List<EVCacheLocalTier> localTiers;
+    private EVCacheKeyEncoder keyEncoder;
+    private Transcoder<Object> transcoder;
+    private int timeToLive;
+    private int negativeTimeToLive;
+    private AdaptiveTimeToLive adaptiveTimeToLive;
+    private SlidingExpiration slidingExpiration;
+    private Leases leases;
+    private UpdateGuard updateGuard;
+    private WriteBehindBuffer writeBehindBuffer;
+    private WritePolicy writePolicy;
+    private WriteSuppressor writeSuppressor;
+    private boolean touchSuppressedWrite;
+    private KeyManifest keyManifest;
+    private KeyReplicator keyReplicator;
+    private KeyDigester keyDigester;
+    private NegativeLookupFilter negativeLookupFilter;
+    private boolean requestMemoized;
+    private CoAccessPrefetcher prefetcher;
 
     /**
      * Create a {@link EVCache} instance with the specified name and the
@@ -62,7 +102,13 @@ public class EVCacheImpl extends AbstractValueAdaptingCache implements EVCache {
         this.name = name;
         this.cache = cache;
         this.locks = Striped.lock(striped);
-        this.deleteWhitespaceKey = deleteWhitespaceKey;
+        this.keyEncoder = new DefaultEVCacheKeyEncoder(deleteWhitespaceKey);
+        this.localTiers = new ArrayList<>();
+        this.timeToLive = (int) EVCacheConfiguration.DEFAULT_TIME_TO_LIVE.getSeconds();
+        this.updateGuard = new UpdateGuard(name,
+                                           EVCacheConfiguration.DEFAULT_UPDATE_MAXIMUM_ATTEMPTS,
+                                           EVCacheConfiguration.DEFAULT_UPDATE_BACKOFF,
+                                           EVCacheConfiguration.DEFAULT_UPDATE_LOCK_TIME_TO_LIVE);
     }
 
     @Override
@@ -81,38 +127,229 @@ public class EVCacheImpl extends AbstractValueAdaptingCache implements EVCache {
     }
 
     private String toEVCacheKey(final Object key) {
-        if (key == null) {
-            throw new EVCacheInvalidKeyException("Key must not be null");
+        return keyEncoder.encode(key);
+    }
+
+    /**
+     * Memoized reads keep the encoded value, which is decoded for each read not to share an instance
+     * between callers of the request
+     */
+    private Object doGet(final String key) {
+        final Map<String, CachedData> memo = requestMemo();
+        if (memo == null) {
+            return fetch(key);
         }
-        final String evcacheKey = key.toString();
-        if (evcacheKey.isEmpty()) {
-            throw new EVCacheInvalidKeyException("Key must not be empty");
+        if (!memo.containsKey(key)) {
+            memo.put(key, fetchEncoded(key));
         }
-        return handleWhitespaceKey(evcacheKey);
+        final CachedData data = memo.get(key);
+        return data == null ? null : unwrap(key, decode(data));
     }
 
-    private String handleWhitespaceKey(final String evcacheKey) {
-        if (!StringUtils.containsWhitespace(evcacheKey)) {
-            return evcacheKey;
+    private Map<String, CachedData> requestMemo() {
+        return requestMemoized ? RequestMemo.of(name) : null;
+    }
+
+    private void forget(final String key) {
+        final Map<String, CachedData> memo = requestMemo();
+        if (memo != null) {
+            memo.remove(key);
         }
-        if (!deleteWhitespaceKey) {
-            throw new EVCacheInvalidKeyException("Key must not be contain whitespace");
+    }
+
+    private Object fetch(final String key) {
+        final String evcacheKey = digest(key);
+        if (isConfirmedAbsent(evcacheKey)) {
+            return absentValue();
         }
-        final String result = StringUtils.deleteWhitespace(evcacheKey);
-        if (result.isEmpty()) {
-            throw new EVCacheInvalidKeyException("Deleted whitespace key is empty");
+        final Object pending = writeBehindBuffer == null ? null : writeBehindBuffer.pending(evcacheKey);
+        return unwrap(key, pending == null ? read(evcacheKey) : pending);
+    }
+
+    private CachedData fetchEncoded(final String key) {
+        final String evcacheKey = digest(key);
+        if (isConfirmedAbsent(evcacheKey)) {
+            final Object absent = absentValue();
+            return absent == null ? null : getTranscoder().encode(absent);
         }
-        return result;
+        final Object pending = writeBehindBuffer == null ? null : writeBehindBuffer.pending(evcacheKey);
+        return pending == null ? readEncoded(evcacheKey) : getTranscoder().encode(pending);
     }
 
-    private Object doGet(final String key) {
+    private Object unwrap(final String key, final Object stored) {
+        return stored instanceof KeyedValue ? ((KeyedValue) stored).valueOf(key) : stored;
+    }
+
+    private boolean isConfirmedAbsent(final String key) {
+        return negativeLookupFilter != null && negativeLookupFilter.isAbsent(key);
+    }
+
+    /**
+     * A key confirmed absent by the loader is cached as {@code null} when {@code null} is allowed, otherwise a miss
+     */
+    private Object absentValue() {
+        return isAllowNullValues() ? NullValue.INSTANCE : null;
+    }
+
+    private Object decode(final CachedData data) {
+        return getTranscoder().decode(ExpiringValue.unwrap(data));
+    }
+
+    private String digest(final String key) {
+        return keyDigester == null ? key : keyDigester.digest(key);
+    }
+
+    private Object read(final String key) {
+        if (prefetcher == null && localTiers.isEmpty() && slidingExpiration == null) {
+            record(key);
+            return remoteGet(key, null);
+        }
+        final CachedData data = readEncoded(key);
+        return data == null ? null : decode(data);
+    }
+
+    private CachedData readEncoded(final String key) {
+        record(key);
+        if (prefetcher != null) {
+            final CachedData prefetched = prefetcher.read(key);
+            if (prefetched != null) {
+                return prefetched;
+            }
+        }
+        return doGetEncoded(key);
+    }
+
+    private void record(final String key) {
+        if (keyManifest != null) {
+            keyManifest.record(key);
+        }
+    }
+
+    private CachedData doGetEncoded(final String key) {
+        for (int index = 0; index < localTiers.size(); index++) {
+            final CachedData data = localTiers.get(index).get(key);
+            if (data != null) {
+                localTiers.subList(0, index).forEach(tier -> tier.put(key, data));
+                touchIfSliding(key, data);
+                return data;
+            }
+        }
+        final CachedData data = remoteGet(key, CachedDataTranscoder.INSTANCE);
+        if (data != null) {
+            localTiers.forEach(tier -> tier.put(key, data));
+        }
+        return data;
+    }
+
+    /**
+     * Read a random copy of a hot key, and repair the copy from the key when it is absent
+     */
+    private <T> T remoteGet(final String key, final Transcoder<T> tc) {
         try {
-            return cache.get(key);
+            if (keyReplicator == null || !keyReplicator.isHotKey(key)) {
+                return slidingGet(key, tc);
+            }
+            final String copy = keyReplicator.pick(key);
+            final T replicated = nativeGet(copy, tc);
+            if (replicated != null) {
+                touchIfSliding(key, replicated);
+                return replicated;
+            }
+            final T result = slidingGet(key, tc);
+            if (result != null) {
+                nativeSet(copy, result, tc, keyReplicator.timeToLiveOf(timeToLive));
+            }
+            return result;
         } catch (final com.netflix.evcache.EVCacheException ex) {
             throw new EVCacheGetException(key, ex);
         }
     }
 
+    private <T> T nativeGet(final String key, final Transcoder<T> tc) throws com.netflix.evcache.EVCacheException {
+        return tc == null ? cache.get(key) : cache.get(key, tc);
+    }
+
+    /**
+     * Read and restart the time to live of the remote value in one round trip with {@code getAndTouch}.
+     * The time to live written with is known only after the read, so that the default one is used,
+     * and a value written with its own, kept in {@link ExpiringValue}, is touched again with it
+     */
+    private <T> T slidingGet(final String key, final Transcoder<T> tc) throws com.netflix.evcache.EVCacheException {
+        if (tc == null || slidingExpiration == null || !slidingExpiration.shouldTouch(key)) {
+            return nativeGet(key, tc);
+        }
+        final T result = cache.getAndTouch(key, timeToLive, tc);
+        if (result instanceof CachedData && ExpiringValue.isExpiring((CachedData) result)) {
+            touch(key, ExpiringValue.timeToLiveOf((CachedData) result, timeToLive));
+        }
+        return result;
+    }
+
+    /**
+     * Restart the time to live of the remote value read from elsewhere, with the time to live it was written with
+     *
+     * @param stored the value read, encoded or not
+     */
+    private <T> void touchIfSliding(final String key, final T stored) {
+        if (stored == null || slidingExpiration == null || !slidingExpiration.shouldTouch(key)) {
+            return;
+        }
+        touch(key, stored instanceof CachedData
+                   ? ExpiringValue.timeToLiveOf((CachedData) stored, timeToLive)
+                   : timeToLive);
+    }
+
+    /**
+     * A failed touch is only logged since the value is read anyway
+     */
+    private void touch(final String key, final int ttl) {
+        try {
+            cache.touch(key, ttl);
+        } catch (final com.netflix.evcache.EVCacheException ex) {
+            LOGGER.warn("Can not touch key: {} of cache: {}", key, name, ex);
+        }
+    }
+
+    private <T> void nativeSet(final String key, final T value, final Transcoder<T> tc, final int ttl)
+        throws com.netflix.evcache.EVCacheException {
+        if (tc == null) {
+            nativeSet(key, value, ttl);
+        } else {
+            awaited(cache.set(key, value, tc, ttl));
+        }
+    }
+
+    /**
+     * Keep the writes of an update or of priming, which are awaited until they are completed
+     */
+    private void awaited(final Future<Boolean>[] futures) {
+        if (futures != null) {
+            awaited(Arrays.asList(futures));
+        }
+    }
+
+    private void awaited(final List<Future<Boolean>> futures) {
+        final List<Future<Boolean>> writes = AWAITED_WRITES.get();
+        if (writes != null) {
+            writes.addAll(futures);
+        }
+    }
+
+    /**
+     * Put an entry, and return the native writes of it to be awaited for the completion,
+     * which are none when the writes are deferred, such as written behind or in a transaction
+     */
+    static List<Future<Boolean>> writesOf(final EVCache cache, final Object key, final Object value) {
+        final List<Future<Boolean>> result = new ArrayList<>();
+        AWAITED_WRITES.set(result);
+        try {
+            cache.put(key, value);
+        } finally {
+            AWAITED_WRITES.remove();
+        }
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(final Object key, final Callable<T> valueLoader) {
@@ -124,8 +361,14 @@ public class EVCacheImpl extends AbstractValueAdaptingCache implements EVCache {
             if (nonNull(cached)) {
                 return (T) fromStoreValue(cached);
             }
+            final CachedData lease = acquireLease(candidateKey);
             final T value = valueLoader.call();
-            doSet(candidateKey, value);
+            if (lease == null || isLeaseValid(candidateKey, lease)) {
+                doSet(candidateKey, value);
+                if (negativeLookupFilter != null && isNullValue(value)) {
+                    negativeLookupFilter.absent(digest(candidateKey));
+                }
+            }
             return (T) fromStoreValue(value);
         } catch (final Exception ex) {
             throw new ValueRetrievalException(key, valueLoader, ex);
@@ -134,19 +377,265 @@ public class EVCacheImpl extends AbstractValueAdaptingCache implements EVCache {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T update(final Object key, final UnaryOperator<T> updater) {
+        Assert.notNull(updater, "`updater` must not be null");
+        final String candidateKey = toEVCacheKey(key);
+        final String lockKey = updateGuard.lockKey(digest(candidateKey));
+        final Lock lock = locks.get(candidateKey);
+        lock.lock();
+        try {
+            for (int attempt = 1; !updateGuard.isTaken(cache.incr(lockKey, 1, 1, updateGuard.getLockTimeToLive()));
+                 attempt++) {
+                updateGuard.backoff(key, attempt);
+            }
+            final long takenAt = System.nanoTime();
+            final List<Future<Boolean>> writes = new ArrayList<>();
+            AWAITED_WRITES.set(writes);
+            try {
+                flushPending(candidateKey);
+                final T result = updater.apply((T) fromStoreValue(remoteRead(candidateKey)));
+                updateGuard.checkHeld(key, takenAt);
+                doSet(candidateKey, result);
+                flushPending(candidateKey);
+                return result;
+            } finally {
+                AWAITED_WRITES.remove();
+                if (updateGuard.awaitWrites(takenAt, writes)) {
+                    cache.delete(lockKey);
+                }
+            }
+        } catch (final com.netflix.evcache.EVCacheException ex) {
+            throw new EVCacheUpdateException(key, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushPending(final String key) {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush(digest(key));
+        }
+    }
+
+    /**
+     * Read bypassing local tiers and the negative lookup filter, which may be behind other processes
+     */
+    private Object remoteRead(final String key) {
+        final String evcacheKey = digest(key);
+        final CachedData data = remoteGet(evcacheKey, CachedDataTranscoder.INSTANCE);
+        return data == null ? null : unwrap(key, decode(data));
+    }
+
+    private CachedData acquireLease(final String key) throws com.netflix.evcache.EVCacheException {
+        if (leases == null) {
+            return null;
+        }
+        final CachedData result = leases.newToken();
+        cache.set(leases.leaseKey(digest(key)), result, CachedDataTranscoder.INSTANCE, leases.getTimeToLive());
+        return result;
+    }
+
+    private boolean isLeaseValid(final String key, final CachedData lease) throws com.netflix.evcache.EVCacheException {
+        return leases.isValid(lease, cache.get(leases.leaseKey(digest(key)), CachedDataTranscoder.INSTANCE));
+    }
+
     @Override
     public void put(final Object key, final Object value) {
         doSet(toEVCacheKey(key), value);
     }
 
+    @Override
+    public void put(final Object key, final Object value, final Duration timeToLive) {
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        doSet(toEVCacheKey(key), value, toSeconds(timeToLive));
+    }
+
     private void doSet(final String key, final Object value) {
+        doSet(key, value, timeToLiveOf(value));
+    }
+
+    private void doSet(final String key, final Object value, final int ttl) {
+        final String evcacheKey = digest(key);
+        forget(key);
+        final Object stored = evcacheKey.equals(key) ? value : new KeyedValue(key, toStoreValue(value));
+        if (writeBehindBuffer == null) {
+            write(evcacheKey, stored, ttl);
+        } else {
+            writeBehindBuffer.offer(evcacheKey, toStoreValue(stored), ttl);
+        }
+        if (negativeLookupFilter != null) {
+            negativeLookupFilter.present(evcacheKey);
+        }
+    }
+
+    private int timeToLiveOf(final Object value) {
+        if (value instanceof EVCacheExpirable && ((EVCacheExpirable) value).getTimeToLive() != null) {
+            return toSeconds(((EVCacheExpirable) value).getTimeToLive());
+        }
+        return isNullValue(value) && negativeTimeToLive > 0 ? negativeTimeToLive : timeToLive;
+    }
+
+    /**
+     * @return whether the value is {@code null} itself or stored for {@code null}
+     */
+    static boolean isNullValue(final Object value) {
+        return value == null || value == NullValue.INSTANCE;
+    }
+
+    /**
+     * @return seconds rounded up, clamped to {@link EVCacheConfiguration#MAXIMUM_TIME_TO_LIVE}
+     */
+    private int toSeconds(final Duration ttl) {
+        Assert.state(!ttl.isNegative() && !ttl.isZero(), "`timeToLive` must be positive value");
+        if (ttl.compareTo(EVCacheConfiguration.MAXIMUM_TIME_TO_LIVE) >= 0) {
+            return (int) EVCacheConfiguration.MAXIMUM_TIME_TO_LIVE.getSeconds();
+        }
+        return Math.toIntExact(ttl.getSeconds() + (ttl.getNano() > 0 ? 1 : 0));
+    }
+
+    private void write(final String key, final Object value, final int ttl) {
         try {
-            cache.set(key, toStoreValue(value));
+            if (isEncodedInAdvance()) {
+                final CachedData data = getTranscoder().encode(toStoreValue(value));
+                final int effective = adaptiveTimeToLiveOf(key, value, data, ttl);
+                doSetEncoded(key, expiring(data, effective), effective);
+            } else {
+                nativeSet(key, toStoreValue(value), ttl);
+                for (final String copy : replicasToWrite(key)) {
+                    nativeSet(copy, toStoreValue(value), keyReplicator.timeToLiveOf(ttl));
+                }
+                deleteReplicas(key);
+            }
         } catch (final com.netflix.evcache.EVCacheException ex) {
             throw new EVCachePutException(key, value, ex);
         }
     }
 
+    private int adaptiveTimeToLiveOf(final String key, final Object value, final CachedData data, final int ttl) {
+        if (adaptiveTimeToLive == null || ttl != timeToLive) {
+            return ttl;
+        }
+        final Object target = value instanceof KeyedValue ? ((KeyedValue) value).getValue() : value;
+        final String valueClass = target == null ? NullValue.class.getName() : target.getClass().getName();
+        return adaptiveTimeToLive.timeToLive(valueClass, key, data.getData(), ttl);
+    }
+
+    /**
+     * Wrap the value written with other than the default time to live, for sliding expiration to touch it alike
+     */
+    private CachedData expiring(final CachedData data, final int ttl) {
+        return slidingExpiration == null || ttl == timeToLive ? data : ExpiringValue.wrap(data, ttl);
+    }
+
+    private boolean isEncodedInAdvance() {
+        return writeSuppressor != null
+               || adaptiveTimeToLive != null
+               || writePolicy != null
+               || slidingExpiration != null
+               || !localTiers.isEmpty();
+    }
+
+    private void nativeSet(final String key, final Object value, final int ttl)
+        throws com.netflix.evcache.EVCacheException {
+        if (ttl == timeToLive) {
+            awaited(cache.set(key, value));
+        } else {
+            awaited(cache.set(key, value, ttl));
+        }
+    }
+
+    private void doSetEncoded(final String key, final CachedData data, final int ttl)
+        throws com.netflix.evcache.EVCacheException {
+        if (writeSuppressor == null || !writeSuppressor.isDuplicated(key, data.getData(), ttl)) {
+            encodedSet(key, data, ttl);
+            for (final String copy : replicasToWrite(key)) {
+                encodedSet(copy, data, keyReplicator.timeToLiveOf(ttl));
+            }
+            deleteReplicas(key);
+            written(key, data, ttl);
+        } else if (touchSuppressedWrite) {
+            cache.touch(key, ttl);
+            for (final String copy : replicasToWrite(key)) {
+                cache.touch(copy, keyReplicator.timeToLiveOf(ttl));
+            }
+            written(key, data, ttl);
+        }
+    }
+
+    private void encodedSet(final String key, final CachedData data, final int ttl)
+        throws com.netflix.evcache.EVCacheException {
+        if (writePolicy == null) {
+            awaited(cache.set(key, data, CachedDataTranscoder.INSTANCE, ttl));
+            return;
+        }
+        final EVCacheLatch latch = cache.set(key, data, CachedDataTranscoder.INSTANCE, ttl, writePolicy.getPolicy());
+        if (latch != null) {
+            awaited(latch.getAllFutures());
+        }
+        final Map<String, EVCacheLatch> deferred = DEFERRED_ACKNOWLEDGEMENTS.get();
+        if (deferred != null && latch != null) {
+            deferred.put(key, latch);
+        } else if (!writePolicy.acknowledge(latch)) {
+            throw new com.netflix.evcache.EVCacheException("Not acknowledged by " + writePolicy.getPolicy());
+        }
+    }
+
+    private List<String> replicasToWrite(final String key) {
+        return keyReplicator == null ? Collections.emptyList() : keyReplicator.replicasToWrite(key);
+    }
+
+    /**
+     * Delete copies of a key which is no longer hot in this process
+     */
+    private void deleteReplicas(final String key) throws com.netflix.evcache.EVCacheException {
+        if (keyReplicator != null) {
+            for (final String copy : keyReplicator.replicasToDelete(key)) {
+                cache.delete(copy);
+            }
+        }
+    }
+
+    private void written(final String key, final CachedData data, final int ttl) {
+        if (prefetcher != null) {
+            prefetcher.invalidate(key);
+        }
+        if (writeSuppressor != null) {
+            writeSuppressor.written(key, data.getData(), ttl);
+        }
+        if (ttl == timeToLive || timeToLive > 0 && ttl > timeToLive) {
+            localTiers.forEach(tier -> tier.put(key, data));
+        } else {
+            localTiers.forEach(tier -> tier.invalidate(key));
+        }
+    }
+
+    @Override
+    public void writeAll(final Map<?, ?> puts, final Collection<?> evicts) {
+        Assert.notNull(puts, "`puts` must not be null");
+        Assert.notNull(evicts, "`evicts` must not be null");
+        final Map<String, EVCacheLatch> deferred = new LinkedHashMap<>();
+        DEFERRED_ACKNOWLEDGEMENTS.set(deferred);
+        try {
+            evicts.forEach(this::evict);
+            puts.forEach(this::put);
+        } finally {
+            DEFERRED_ACKNOWLEDGEMENTS.remove();
+        }
+        final List<String> unacknowledged = deferred.entrySet()
+                                                    .stream()
+                                                    .filter(entry -> !writePolicy.acknowledge(entry.getValue()))
+                                                    .map(Map.Entry::getKey)
+                                                    .collect(Collectors.toList());
+        if (!unacknowledged.isEmpty()) {
+            throw new EVCachePutException(unacknowledged,
+                                          null,
+                                          new com.netflix.evcache.EVCacheException("Not acknowledged by "
+                                                                                   + writePolicy.getPolicy()));
+        }
+    }
+
     @Override
     public ValueWrapper putIfAbsent(final Object key, final Object value) {
         final Object result = get(key, () -> toStoreValue(value));
@@ -159,8 +648,35 @@ public class EVCacheImpl extends AbstractValueAdaptingCache implements EVCache {
     }
 
     private void doDelete(final String key) {
+        final String evcacheKey = digest(key);
+        forget(key);
+        if (negativeLookupFilter != null) {
+            negativeLookupFilter.present(evcacheKey);
+        }
+        remove(evcacheKey);
+    }
+
+    private void remove(final String key) {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.discard(key);
+        }
+        if (writeSuppressor != null) {
+            writeSuppressor.invalidate(key);
+        }
+        if (prefetcher != null) {
+            prefetcher.invalidate(key);
+        }
+        localTiers.forEach(tier -> tier.invalidate(key));
         try {
+            if (leases != null) {
+                cache.delete(leases.leaseKey(key));
+            }
             cache.delete(key);
+            if (keyReplicator != null) {
+                for (final String copy : keyReplicator.replicasOf(key)) {
+                    cache.delete(copy);
+                }
+            }
         } catch (final com.netflix.evcache.EVCacheException ex) {
             throw new EVCacheEvictException(key, ex);
         }
@@ -170,4 +686,206 @@ public class EVCacheImpl extends AbstractValueAdaptingCache implements EVCache {
     public void clear() {
         throw new EVCacheClearException();
     }
+
+    private Transcoder<Object> getTranscoder() {
+        if (transcoder == null) {
+            transcoder = new EVCacheTranscoder();
+        }
+        return transcoder;
+    }
+
+    /**
+     * @param keyEncoder the strategy to encode cache keys into EVCache keys
+     */
+    public void setKeyEncoder(final EVCacheKeyEncoder keyEncoder) {
+        Assert.notNull(keyEncoder, "`keyEncoder` must not be null");
+        this.keyEncoder = keyEncoder;
+    }
+
+    /**
+     * @param transcoder the transcoder of the backing EVCache instance, used when values are encoded in advance
+     */
+    public void setTranscoder(final Transcoder<Object> transcoder) {
+        Assert.notNull(transcoder, "`transcoder` must not be null");
+        this.transcoder = transcoder;
+    }
+
+    /**
+     * @param timeToLive the time to live of the backing EVCache instance, seconds
+     */
+    public void setTimeToLive(final int timeToLive) {
+        Assert.state(timeToLive >= 0, "`timeToLive` must not be negative");
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @param adaptiveTimeToLive decide the time to live by how often values change, {@code null} to disable
+     */
+    public void setAdaptiveTimeToLive(final AdaptiveTimeToLive adaptiveTimeToLive) {
+        this.adaptiveTimeToLive = adaptiveTimeToLive;
+    }
+
+    /**
+     * @param slidingExpiration restart the time to live on each access, {@code null} to disable
+     */
+    public void setSlidingExpiration(final SlidingExpiration slidingExpiration) {
+        this.slidingExpiration = slidingExpiration;
+    }
+
+    /**
+     * @param leases skip setting a value loaded before an evict, {@code null} to disable
+     */
+    public void setLeases(final Leases leases) {
+        this.leases = leases;
+    }
+
+    /**
+     * @param updateGuard the retry policy of {@link #update(Object, UnaryOperator)}
+     */
+    public void setUpdateGuard(final UpdateGuard updateGuard) {
+        Assert.notNull(updateGuard, "`updateGuard` must not be null");
+        this.updateGuard = updateGuard;
+    }
+
+    /**
+     * @param writeBehindBuffer write behind the callers, coalescing writes of the same key, {@code null} to disable
+     */
+    public void setWriteBehindBuffer(final WriteBehindBuffer writeBehindBuffer) {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.attach(this::write);
+        }
+        this.writeBehindBuffer = writeBehindBuffer;
+    }
+
+    /**
+     * @param writePolicy acknowledgement of writes by the native latch policy, {@code null} not to wait
+     */
+    public void setWritePolicy(final WritePolicy writePolicy) {
+        this.writePolicy = writePolicy;
+    }
+
+    /**
+     * @param negativeTimeToLive the time to live of {@code null} values, seconds, zero is same as time to live
+     */
+    public void setNegativeTimeToLive(final int negativeTimeToLive) {
+        Assert.state(negativeTimeToLive >= 0, "`negativeTimeToLive` must not be negative");
+        this.negativeTimeToLive = negativeTimeToLive;
+    }
+
+    /**
+     * @param writeSuppressor      skip writing values byte-identical to recently written ones, {@code null} to disable
+     * @param touchSuppressedWrite whether to refresh time to live with touch instead of skipped write
+     */
+    public void setWriteSuppressor(final WriteSuppressor writeSuppressor, final boolean touchSuppressedWrite) {
+        this.writeSuppressor = writeSuppressor;
+        this.touchSuppressedWrite = touchSuppressedWrite;
+    }
+
+    /**
+     * Add the local tier in front of the backing EVCache instance, tiers are looked up in the order added
+     *
+     * @param localTier local tier keeping encoded values
+     */
+    public void addLocalTier(final EVCacheLocalTier localTier) {
+        Assert.notNull(localTier, "`localTier` must not be null");
+        localTiers.add(localTier);
+    }
+
+    /**
+     * @param keyManifest the manifest of hot keys to be prefetched at startup, {@code null} to disable
+     */
+    public void setKeyManifest(final KeyManifest keyManifest) {
+        this.keyManifest = keyManifest;
+    }
+
+    /**
+     * @param keyReplicator spread hot keys over copies, {@code null} to disable
+     */
+    public void setKeyReplicator(final KeyReplicator keyReplicator) {
+        this.keyReplicator = keyReplicator;
+    }
+
+    /**
+     * @param keyDigester replace long keys with digested keys, {@code null} to disable
+     */
+    public void setKeyDigester(final KeyDigester keyDigester) {
+        this.keyDigester = keyDigester;
+    }
+
+    /**
+     * @param negativeLookupFilter skip remote gets of keys confirmed absent by the loader, {@code null} to disable
+     */
+    public void setNegativeLookupFilter(final NegativeLookupFilter negativeLookupFilter) {
+        this.negativeLookupFilter = negativeLookupFilter;
+    }
+
+    /**
+     * @param requestMemoized memoize reads within the {@link RequestMemo} bound to the current thread
+     */
+    public void setRequestMemoized(final boolean requestMemoized) {
+        this.requestMemoized = requestMemoized;
+    }
+
+    /**
+     * @param prefetcher prefetch keys read after a leading key, {@code null} to disable
+     */
+    public void setPrefetcher(final CoAccessPrefetcher prefetcher) {
+        if (prefetcher != null) {
+            prefetcher.attach(keys -> cache.getBulk(keys, CachedDataTranscoder.INSTANCE));
+        }
+        this.prefetcher = prefetcher;
+    }
+
+    /**
+     * Prefetch the keys of the manifest into the local tiers with a bulk get,
+     * which also establishes connections to the servers owning them
+     */
+    public void warmUp() {
+        if (keyManifest == null) {
+            return;
+        }
+        final List<String> keys = keyManifest.read();
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            final Map<String, CachedData> values = cache.getBulk(keys, CachedDataTranscoder.INSTANCE);
+            values.forEach((key, data) -> {
+                if (data != null) {
+                    localTiers.forEach(tier -> tier.put(key, data));
+                }
+            });
+            LOGGER.info("Prefetched {} of {} keys of cache: {}", values.size(), keys.size(), name);
+        } catch (final com.netflix.evcache.EVCacheException ex) {
+            LOGGER.warn("Can not prefetch keys of cache: {}", name, ex);
+        }
+    }
+
+    /**
+     * Flush the writes behind, stop checking writes and prefetching, write the manifest of hot keys,
+     * and release resources of the local tiers
+     */
+    public void close() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.close();
+        }
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
+        if (writePolicy != null) {
+            writePolicy.close();
+        }
+        if (keyManifest != null) {
+            keyManifest.close();
+        }
+        for (final EVCacheLocalTier localTier : localTiers) {
+            if (localTier instanceof Closeable) {
+                try {
+                    ((Closeable) localTier).close();
+                } catch (final IOException ex) {
+                    LOGGER.warn("Can not close local tier of cache: {}", name, ex);
+                }
+            }
+        }
+    }
 }
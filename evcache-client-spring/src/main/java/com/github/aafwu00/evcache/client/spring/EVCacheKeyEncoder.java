@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+/**
+ * Strategy to encode a cache key into an EVCache key.
+ *
+ * @author Taeho Kim
+ * @see DefaultEVCacheKeyEncoder
+ */
+@FunctionalInterface
+public interface EVCacheKeyEncoder {
+    /**
+     * @param key the cache key
+     * @return the EVCache key, without the key prefix
+     * @throws EVCacheInvalidKeyException if the key can not be encoded
+     */
+    String encode(Object key);
+}
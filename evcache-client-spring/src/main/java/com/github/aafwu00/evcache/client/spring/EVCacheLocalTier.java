@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+
+/**
+ * Local tier in front of the remote EVCache cluster, keeping values encoded by the cache's transcoder.
+ *
+ * @author Taeho Kim
+ * @see EVCacheImpl#addLocalTier(EVCacheLocalTier)
+ */
+public interface EVCacheLocalTier {
+    /**
+     * @param key the EVCache key
+     * @return the encoded value, {@code null} when absent or expired
+     */
+    CachedData get(String key);
+
+    /**
+     * @param key  the EVCache key
+     * @param data the encoded value
+     */
+    void put(String key, CachedData data);
+
+    /**
+     * @param key the EVCache key
+     */
+    void invalidate(String key);
+}
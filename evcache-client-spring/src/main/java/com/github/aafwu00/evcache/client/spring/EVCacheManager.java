@@ -17,8 +17,10 @@
 package com.github.aafwu00.evcache.client.spring;
 
 import com.netflix.evcache.EVCache.Builder;
+import com.netflix.evcache.EVCacheTranscoder;
 import com.netflix.evcache.pool.EVCacheClientPoolManager;
 import net.spy.memcached.transcoders.Transcoder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.support.AbstractCacheManager;
@@ -26,17 +28,22 @@ import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link CacheManager} backed by an {@link EVCacheImpl}.
  *
  * @author Taeho Kim
  */
-public class EVCacheManager extends AbstractCacheManager {
+public class EVCacheManager extends AbstractCacheManager implements DisposableBean {
     private final EVCacheClientPoolManager evcacheClientPoolManager;
     private final Set<EVCacheConfiguration> configurations;
     private final List<Builder.Customizer> customizers;
@@ -48,11 +55,30 @@ public class EVCacheManager extends AbstractCacheManager {
      * Delete whitespace key. Careful, Both of 'ab' and 'a b' are same key
      */
     private boolean deleteWhitespaceKey;
+    /**
+     * Whether to store {@link String}, numbers and {@code byte[]} without object serialization,
+     * applied only when no custom {@link #transcoder} is configured, disabled by default
+     * because the values written before are not readable by it
+     */
+    private boolean primitiveValueEncoding;
+    /**
+     * The strategy to encode cache keys, {@link DefaultEVCacheKeyEncoder} when absent
+     */
+    private EVCacheKeyEncoder keyEncoder;
     /**
      * The default {@link Transcoder} to be used for serializing and
      * de-serializing items in {@link com.netflix.evcache.EVCache}.
      */
     private Transcoder<? extends Object> transcoder;
+    private boolean transactionAware;
+    /**
+     * Whether to memoize reads within the {@link RequestMemo} bound to the current thread
+     */
+    private boolean requestMemoized;
+    /**
+     * The primer of {@link #prime(String, Stream, Consumer)}
+     */
+    private CachePrimer primer = new CachePrimer();
 
     /**
      * Create a new EVCacheManager for the given configurations and customizers
@@ -83,24 +109,179 @@ public class EVCacheManager extends AbstractCacheManager {
     }
 
     private EVCache create(final EVCacheConfiguration configuration) {
-        return new EVCacheImpl(configuration.getCacheName(),
-                               build(configuration),
-                               allowNullValues,
-                               configuration.getStriped(),
-                               deleteWhitespaceKey);
+        final Transcoder<Object> valueTranscoder = determineTranscoder();
+        final EVCacheImpl cache = new EVCacheImpl(configuration.getCacheName(),
+                                                  build(configuration, valueTranscoder),
+                                                  allowNullValues,
+                                                  configuration.getStriped(),
+                                                  deleteWhitespaceKey);
+        cache.setTranscoder(valueTranscoder);
+        if (keyEncoder != null) {
+            cache.setKeyEncoder(keyEncoder);
+        }
+        cache.setRequestMemoized(requestMemoized);
+        cache.setTimeToLive((int) configuration.getTimeToLive().getSeconds());
+        cache.setNegativeTimeToLive((int) configuration.getNegativeTimeToLive().getSeconds());
+        cache.setUpdateGuard(new UpdateGuard(configuration.getCacheName(),
+                                             configuration.getUpdateMaximumAttempts(),
+                                             configuration.getUpdateBackoff(),
+                                             configuration.getUpdateLockTimeToLive()));
+        if (configuration.isSlidingExpiration()) {
+            cache.setSlidingExpiration(new SlidingExpiration(configuration.getSlidingExpirationTouchInterval()));
+        }
+        if (!configuration.getLeaseTimeToLive().isZero()) {
+            cache.setLeases(new Leases(configuration.getLeaseTimeToLive()));
+        }
+        if (configuration.getWritePolicy() != null) {
+            cache.setWritePolicy(new WritePolicy(configuration.getCacheName(),
+                                                 configuration.getWritePolicy(),
+                                                 configuration.getWriteTimeout()));
+        }
+        if (configuration.getWriteBehindCapacity() > 0) {
+            cache.setWriteBehindBuffer(new WriteBehindBuffer(configuration.getCacheName(),
+                                                             configuration.getWriteBehindCapacity(),
+                                                             configuration.getWriteBehindBatchSize(),
+                                                             configuration.getWriteBehindFlushInterval()));
+        }
+        if (!configuration.getAdaptiveTimeToLiveMaximum().isZero()) {
+            cache.setAdaptiveTimeToLive(new AdaptiveTimeToLive(configuration.getAdaptiveTimeToLiveMaximumSize(),
+                                                               configuration.getAdaptiveTimeToLiveMinimum(),
+                                                               configuration.getAdaptiveTimeToLiveMaximum(),
+                                                               configuration.getAdaptiveTimeToLiveJitter()));
+        }
+        if (configuration.getPrefetchMaximumSize() > 0) {
+            cache.setPrefetcher(new CoAccessPrefetcher(configuration.getCacheName(),
+                                                       configuration.getPrefetchMaximumSize(),
+                                                       configuration.getPrefetchWindow(),
+                                                       configuration.getPrefetchConfidence(),
+                                                       configuration.getPrefetchTimeToLive()));
+        }
+        if (configuration.getMaximumKeyLength() > 0) {
+            cache.setKeyDigester(new KeyDigester(configuration.getMaximumKeyLength(),
+                                                 configuration.getProperties().getKeyPrefix()));
+        }
+        if (configuration.getNegativeFilterExpectedInsertions() > 0) {
+            cache.setNegativeLookupFilter(new NegativeLookupFilter(configuration.getCacheName(),
+                                                                   configuration.getNegativeFilterExpectedInsertions(),
+                                                                   configuration.getNegativeFilterTimeToLive()));
+        }
+        if (configuration.isWriteSuppressionEnabled()) {
+            cache.setWriteSuppressor(new WriteSuppressor(configuration.getWriteSuppressionMaximumSize(),
+                                                         configuration.getTimeToLive()),
+                                     configuration.isWriteSuppressionTouchEnabled());
+        }
+        final HotKeyCache hotKeyCache = configuration.getHotKeyThreshold() > 0
+                                        ? new HotKeyCache(configuration.getCacheName(),
+                                                          configuration.getHotKeyThreshold(),
+                                                          configuration.getHotKeyMaximumSize(),
+                                                          configuration.getHotKeyTimeToLive())
+                                        : null;
+        if (hotKeyCache != null) {
+            cache.addLocalTier(hotKeyCache);
+        }
+        if (configuration.getHotKeyReplicas() > 1) {
+            final Set<String> hotKeys = configuration.getHotKeys();
+            final Predicate<String> hotKey = hotKeyCache == null
+                                             ? hotKeys::contains
+                                             : key -> hotKeys.contains(key) || hotKeyCache.promotedKeys().contains(key);
+            cache.setKeyReplicator(new KeyReplicator(configuration.getHotKeyReplicas(),
+                                                     hotKey,
+                                                     configuration.getHotKeyTimeToLive()));
+        }
+        if (configuration.getNearCacheCapacity() > 0) {
+            cache.addLocalTier(new OffHeapNearCache(configuration.getNearCacheCapacity(),
+                                                    configuration.getNearCacheTimeToLive()));
+        }
+        if (configuration.getDiskTierDirectory() != null) {
+            cache.addLocalTier(new MappedDiskTier(Paths.get(configuration.getDiskTierDirectory(),
+                                                            configuration.getCacheName()),
+                                                  configuration.getDiskTierSegmentSize(),
+                                                  configuration.getDiskTierMaximumSize(),
+                                                  configuration.getTimeToLive()));
+        }
+        if (configuration.getKeyManifestDirectory() != null) {
+            cache.setKeyManifest(new KeyManifest(Paths.get(configuration.getKeyManifestDirectory(),
+                                                           configuration.getCacheName() + ".keys"),
+                                                 configuration.getKeyManifestSize()));
+        }
+        return cache;
     }
 
-    private com.netflix.evcache.EVCache build(final EVCacheConfiguration configuration) {
+    private com.netflix.evcache.EVCache build(final EVCacheConfiguration configuration,
+                                              final Transcoder<Object> valueTranscoder) {
         final Builder builder = Builder.forApp(configuration.getAppName());
         final Field field = ReflectionUtils.findField(Builder.class, "_poolManager");
         ReflectionUtils.makeAccessible(field);
         ReflectionUtils.setField(field, builder, evcacheClientPoolManager);
         return builder.withConfigurationProperties(configuration.getProperties())
                       .addCustomizers(customizers)
-                      .setTranscoder(transcoder)
+                      .setTranscoder(valueTranscoder)
                       .build();
     }
 
+    @SuppressWarnings("unchecked")
+    Transcoder<Object> determineTranscoder() {
+        Transcoder<Object> result;
+        if (transcoder != null) {
+            result = (Transcoder<Object>) transcoder;
+        } else if (primitiveValueEncoding) {
+            result = new PrimitiveValueTranscoder(new EVCacheTranscoder());
+        } else {
+            result = new EVCacheTranscoder();
+        }
+        if (allowNullValues) {
+            result = new NullValueTranscoder(result);
+        }
+        return result;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        evcacheImpls().forEach(EVCacheImpl::warmUp);
+    }
+
+    @Override
+    public void destroy() {
+        evcacheImpls().forEach(EVCacheImpl::close);
+    }
+
+    @Override
+    protected Cache decorateCache(final Cache cache) {
+        return transactionAware ? new TransactionAwareEVCacheDecorator((EVCache) cache) : cache;
+    }
+
+    /**
+     * Write the entries into the cache, bypassing {@link TransactionAwareEVCacheDecorator}.
+     *
+     * @param cacheName the name of the cache to be primed
+     * @param entries   the entries to be written, pulled only as fast as they are written
+     * @param listener  the listener of progress reports
+     * @return the final progress
+     * @see CachePrimer
+     */
+    public PrimingProgress prime(final String cacheName,
+                                 final Stream<? extends Map.Entry<?, ?>> entries,
+                                 final Consumer<PrimingProgress> listener) {
+        final Cache cache = getCache(cacheName);
+        Assert.state(cache != null, () -> "Cache `" + cacheName + "` must exist");
+        return primer.prime((EVCache) undecorate(cache), entries, listener);
+    }
+
+    private Stream<EVCacheImpl> evcacheImpls() {
+        return getCacheNames().stream()
+                              .map(this::getCache)
+                              .map(this::undecorate)
+                              .filter(EVCacheImpl.class::isInstance)
+                              .map(EVCacheImpl.class::cast);
+    }
+
+    private Cache undecorate(final Cache cache) {
+        return cache instanceof TransactionAwareEVCacheDecorator
+               ? ((TransactionAwareEVCacheDecorator) cache).getTargetCache()
+               : cache;
+    }
+
     public void setAllowNullValues(final boolean allowNullValues) {
         this.allowNullValues = allowNullValues;
     }
@@ -109,7 +290,32 @@ public class EVCacheManager extends AbstractCacheManager {
         this.deleteWhitespaceKey = deleteWhitespaceKey;
     }
 
+    public void setPrimitiveValueEncoding(final boolean primitiveValueEncoding) {
+        this.primitiveValueEncoding = primitiveValueEncoding;
+    }
+
+    public void setKeyEncoder(final EVCacheKeyEncoder keyEncoder) {
+        this.keyEncoder = keyEncoder;
+    }
+
     public void setTranscoder(final Transcoder<? extends Object> transcoder) {
         this.transcoder = transcoder;
     }
+
+    public void setPrimer(final CachePrimer primer) {
+        Assert.notNull(primer, "`primer` must not be null");
+        this.primer = primer;
+    }
+
+    public void setRequestMemoized(final boolean requestMemoized) {
+        this.requestMemoized = requestMemoized;
+    }
+
+    /**
+     * @param transactionAware defer puts and evicts until the surrounding transaction commits, requires spring-tx.
+     *                         {@link TransactionAwareEVCacheDecorator}
+     */
+    public void setTransactionAware(final boolean transactionAware) {
+        this.transactionAware = transactionAware;
+    }
 }
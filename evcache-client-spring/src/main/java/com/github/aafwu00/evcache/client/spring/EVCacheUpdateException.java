@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import java.time.Duration;
+
+public class EVCacheUpdateException extends EVCacheException {
+    private static final long serialVersionUID = 3270957318164782201L;
+
+    public EVCacheUpdateException(final Object key, final int attempts) {
+        super("Update Error, Key:" + key + ", contended over " + attempts + " attempts");
+    }
+
+    public EVCacheUpdateException(final Object key, final Duration held) {
+        super("Update Error, Key:" + key + ", outlived the update held for " + held);
+    }
+
+    public EVCacheUpdateException(final Object key, final Throwable cause) {
+        super("Update Error, Key:" + key, cause);
+    }
+}
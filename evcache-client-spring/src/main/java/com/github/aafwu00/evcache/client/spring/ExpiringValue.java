@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Envelope of an encoded value written with other than the default time to live, keeping the time to live
+ * in front of the flags and payload of the value, so that sliding expiration touches it with the same one
+ * without decoding the value.
+ *
+ * @author Taeho Kim
+ * @see SlidingExpiration
+ */
+final class ExpiringValue {
+    /**
+     * Memcached flags of the envelope, inside the special type range(0xff00) of
+     * {@link net.spy.memcached.transcoders.SerializingTranscoder}
+     */
+    static final int EXPIRING_FLAGS = 0x7b << 8;
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private ExpiringValue() {
+    }
+
+    /**
+     * @param data       the encoded value
+     * @param timeToLive the time to live the value is written with, seconds
+     * @return the envelope of the value
+     */
+    static CachedData wrap(final CachedData data, final int timeToLive) {
+        final byte[] payload = data.getData();
+        final byte[] envelope = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                                          .putInt(timeToLive)
+                                          .putInt(data.getFlags())
+                                          .put(payload)
+                                          .array();
+        return new CachedData(EXPIRING_FLAGS, envelope, CachedData.MAX_SIZE);
+    }
+
+    /**
+     * @param data       the encoded value, in the envelope or not
+     * @param timeToLive the default time to live, seconds
+     * @return the time to live the value was written with, read from the header of the envelope
+     */
+    static int timeToLiveOf(final CachedData data, final int timeToLive) {
+        if (!isExpiring(data)) {
+            return timeToLive;
+        }
+        return ByteBuffer.wrap(data.getData()).getInt();
+    }
+
+    /**
+     * @param data the encoded value, in the envelope or not
+     * @return the encoded value out of the envelope
+     */
+    static CachedData unwrap(final CachedData data) {
+        if (!isExpiring(data)) {
+            return data;
+        }
+        final byte[] envelope = data.getData();
+        final int flags = ByteBuffer.wrap(envelope, Integer.BYTES, Integer.BYTES).getInt();
+        return new CachedData(flags, Arrays.copyOfRange(envelope, HEADER_SIZE, envelope.length), CachedData.MAX_SIZE);
+    }
+
+    static boolean isExpiring(final CachedData data) {
+        return data.getFlags() == EXPIRING_FLAGS && data.getData().length >= HEADER_SIZE;
+    }
+}
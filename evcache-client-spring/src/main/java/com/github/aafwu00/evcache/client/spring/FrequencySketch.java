@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+/**
+ * Count-Min sketch estimating the popularity of keys, counters are halved periodically so that the history decays.
+ * Not thread safe.
+ *
+ * @author Taeho Kim
+ */
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAXIMUM_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0x5ad24b39, 0xc2b2ae35, 0x27d4eb2f};
+    private final int[][] table;
+    private final int mask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * @param expectedSize the expected number of keys
+     */
+    FrequencySketch(final int expectedSize) {
+        final int width = Integer.highestOneBit(Math.max(expectedSize, 8) - 1) << 1;
+        this.table = new int[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    void increment(final Object key) {
+        final int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int depth = 0; depth < DEPTH; depth++) {
+            final int index = indexOf(hash, depth);
+            if (table[depth][index] < MAXIMUM_COUNT) {
+                table[depth][index]++;
+                added = true;
+            }
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(final Object key) {
+        final int hash = spread(key.hashCode());
+        int result = MAXIMUM_COUNT;
+        for (int depth = 0; depth < DEPTH; depth++) {
+            result = Math.min(result, table[depth][indexOf(hash, depth)]);
+        }
+        return result;
+    }
+
+    private void reset() {
+        for (final int[] row : table) {
+            for (int index = 0; index < row.length; index++) {
+                row[index] >>>= 1;
+            }
+        }
+        size /= 2;
+    }
+
+    private int indexOf(final int hash, final int depth) {
+        final int result = (hash ^ SEEDS[depth]) * SEEDS[depth];
+        return (result ^ result >>> 16) & mask;
+    }
+
+    private int spread(final int hashCode) {
+        final int result = hashCode * 0x9e3779b9;
+        return result ^ result >>> 16;
+    }
+}
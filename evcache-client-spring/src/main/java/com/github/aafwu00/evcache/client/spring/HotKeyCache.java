@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import net.spy.memcached.CachedData;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tiny local tier keeping only the keys read more often than the threshold, so that a few celebrity keys
+ * do not overload the server owning them. Reads are counted with a Space-Saving sketch in windows of one second,
+ * and at the end of each window the keys above the threshold are promoted and the others are demoted.
+ *
+ * <p>Metrics: {@code evcache.hotKey.promotions} and {@code evcache.hotKey.demotions} tagged with the cache name.
+ *
+ * @author Taeho Kim
+ */
+public class HotKeyCache implements EVCacheLocalTier {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int TRACKED_PER_KEY = 4;
+    private final double threshold;
+    private final int maximumSize;
+    private final Ticker ticker;
+    private final HotKeyTracker tracker;
+    private final Cache<String, CachedData> values;
+    private final Counter promotions;
+    private final Counter demotions;
+    private final AtomicReference<Set<String>> promoted;
+    private final AtomicLong windowStart;
+    private final Object lock = new Object();
+
+    /**
+     * @param name        the name of the cache, tagged to metrics
+     * @param threshold   the minimum reads per second of a key to be promoted
+     * @param maximumSize the maximum number of promoted keys
+     * @param timeToLive  the time to live of promoted values
+     */
+    public HotKeyCache(final String name, final double threshold, final int maximumSize, final Duration timeToLive) {
+        this(name, threshold, maximumSize, timeToLive, Ticker.systemTicker(), Spectator.globalRegistry());
+    }
+
+    HotKeyCache(final String name,
+                final double threshold,
+                final int maximumSize,
+                final Duration timeToLive,
+                final Ticker ticker,
+                final Registry registry) {
+        Assert.notNull(name, "`name` must not be null");
+        Assert.state(threshold > 0, "`threshold` must be positive value");
+        Assert.state(maximumSize > 0, "`maximumSize` must be positive value");
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        Assert.notNull(registry, "`registry` must not be null");
+        this.threshold = threshold;
+        this.maximumSize = maximumSize;
+        this.ticker = ticker;
+        this.tracker = new HotKeyTracker(maximumSize * TRACKED_PER_KEY);
+        this.values = CacheBuilder.newBuilder()
+                                  .maximumSize(maximumSize)
+                                  .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                                  .ticker(ticker)
+                                  .build();
+        this.promotions = registry.counter("evcache.hotKey.promotions", "cache", name);
+        this.demotions = registry.counter("evcache.hotKey.demotions", "cache", name);
+        this.promoted = new AtomicReference<>(Collections.emptySet());
+        this.windowStart = new AtomicLong(ticker.read());
+    }
+
+    @Override
+    public CachedData get(final String key) {
+        tracker.record(key);
+        final long now = ticker.read();
+        if (now - windowStart.get() >= WINDOW_NANOS) {
+            synchronized (lock) {
+                rotate(now);
+            }
+        }
+        return promoted.get().contains(key) ? values.getIfPresent(key) : null;
+    }
+
+    private void rotate(final long now) {
+        final long elapsed = now - windowStart.get();
+        if (elapsed < WINDOW_NANOS) {
+            return;
+        }
+        final Set<String> candidates = new HashSet<>(tracker.topKeys(maximumSize));
+        candidates.retainAll(tracker.heavyHitters((long) Math.ceil(threshold * elapsed / WINDOW_NANOS)));
+        tracker.clear();
+        windowStart.set(now);
+        final Set<String> previous = promoted.get();
+        for (final String key : previous) {
+            if (!candidates.contains(key)) {
+                values.invalidate(key);
+                demotions.increment();
+            }
+        }
+        for (final String key : candidates) {
+            if (!previous.contains(key)) {
+                promotions.increment();
+            }
+        }
+        promoted.set(Collections.unmodifiableSet(candidates));
+    }
+
+    @Override
+    public void put(final String key, final CachedData data) {
+        if (promoted.get().contains(key)) {
+            values.put(key, data);
+        }
+    }
+
+    @Override
+    public void invalidate(final String key) {
+        values.invalidate(key);
+    }
+
+    /**
+     * @return the keys promoted in the current window
+     */
+    public Set<String> promotedKeys() {
+        return promoted.get();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving sketch tracking the most frequent keys with a fixed number of counters.
+ * When a key is not tracked and all counters are in use, it takes over the counter of the least frequent key,
+ * so that the count of a key is never underestimated.
+ *
+ * <p>Counters are kept in the Stream-Summary structure, a list of buckets of keys with the same count in ascending
+ * order of count, so that both of counting a key and taking over the least frequent counter take constant time.
+ *
+ * @author Taeho Kim
+ */
+class HotKeyTracker {
+    private final int capacity;
+    private final Map<String, Bucket> buckets;
+    private final Object lock = new Object();
+    private Bucket minimum;
+    private Bucket maximum;
+
+    /**
+     * @param capacity the number of counters
+     */
+    HotKeyTracker(final int capacity) {
+        Assert.state(capacity > 0, "`capacity` must be positive value");
+        this.capacity = capacity;
+        this.buckets = new HashMap<>();
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return the estimated count of the key
+     */
+    long record(final String key) {
+        synchronized (lock) {
+            final Bucket bucket = buckets.get(key);
+            if (bucket != null) {
+                return increment(key, bucket);
+            }
+            if (buckets.size() < capacity) {
+                return add(key);
+            }
+            return increment(key, replaceMinimum(key));
+        }
+    }
+
+    private long add(final String key) {
+        if (minimum == null || minimum.count != 1) {
+            link(null, new Bucket(1));
+        }
+        minimum.keys.add(key);
+        buckets.put(key, minimum);
+        return 1;
+    }
+
+    /**
+     * Take over the counter of the least recently counted key among the least frequent keys
+     */
+    private Bucket replaceMinimum(final String key) {
+        final Iterator<String> keys = minimum.keys.iterator();
+        buckets.remove(keys.next());
+        keys.remove();
+        minimum.keys.add(key);
+        buckets.put(key, minimum);
+        return minimum;
+    }
+
+    private long increment(final String key, final Bucket bucket) {
+        final long count = bucket.count + 1;
+        if (bucket.next == null || bucket.next.count != count) {
+            link(bucket, new Bucket(count));
+        }
+        final Bucket next = bucket.next;
+        next.keys.add(key);
+        buckets.put(key, next);
+        bucket.keys.remove(key);
+        if (bucket.keys.isEmpty()) {
+            unlink(bucket);
+        }
+        return count;
+    }
+
+    /**
+     * @param previous the bucket to be followed by the new bucket, {@code null} for the head
+     */
+    private void link(final Bucket previous, final Bucket bucket) {
+        bucket.previous = previous;
+        bucket.next = previous == null ? minimum : previous.next;
+        if (bucket.next == null) {
+            maximum = bucket;
+        } else {
+            bucket.next.previous = bucket;
+        }
+        if (previous == null) {
+            minimum = bucket;
+        } else {
+            previous.next = bucket;
+        }
+    }
+
+    private void unlink(final Bucket bucket) {
+        if (bucket.previous == null) {
+            minimum = bucket.next;
+        } else {
+            bucket.previous.next = bucket.next;
+        }
+        if (bucket.next == null) {
+            maximum = bucket.previous;
+        } else {
+            bucket.next.previous = bucket.previous;
+        }
+    }
+
+    /**
+     * @param size the maximum number of keys
+     * @return the most frequent keys, in descending order of count
+     */
+    List<String> topKeys(final int size) {
+        synchronized (lock) {
+            final List<String> result = new ArrayList<>(Math.min(size, buckets.size()));
+            for (Bucket bucket = maximum; bucket != null && result.size() < size; bucket = bucket.previous) {
+                for (final String key : bucket.keys) {
+                    if (result.size() == size) {
+                        break;
+                    }
+                    result.add(key);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @param minimumCount the minimum estimated count
+     * @return the keys of which estimated count is not less than the minimum count
+     */
+    Set<String> heavyHitters(final long minimumCount) {
+        synchronized (lock) {
+            final Set<String> result = new HashSet<>();
+            for (Bucket bucket = maximum; bucket != null && bucket.count >= minimumCount; bucket = bucket.previous) {
+                result.addAll(bucket.keys);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Forget all keys, to start a new window
+     */
+    void clear() {
+        synchronized (lock) {
+            buckets.clear();
+            minimum = null;
+            maximum = null;
+        }
+    }
+
+    private static final class Bucket {
+        private final long count;
+        private final Set<String> keys = new LinkedHashSet<>();
+        private Bucket previous;
+        private Bucket next;
+
+        private Bucket(final long count) {
+            this.count = count;
+        }
+    }
+}
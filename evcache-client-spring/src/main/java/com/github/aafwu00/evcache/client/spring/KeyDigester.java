@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.springframework.util.Assert;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Replace keys longer than the maximum length in UTF-8 bytes with the readable head of the key
+ * and the 128-bit murmur3 hash of the whole key, {@code head~hash}. Short keys are kept as they are.
+ * The maximum length is bounded so that the key prefixed with {@code keyPrefix:} fits in
+ * {@link #MEMCACHED_MAXIMUM_KEY_LENGTH}.
+ *
+ * <p>Since different keys may have the same digest, values of digested keys are stored with the original key,
+ * and a value of which original key is different is a miss.
+ *
+ * @author Taeho Kim
+ * @see KeyedValue
+ */
+public class KeyDigester {
+    /**
+     * The maximum length of the memcached key, including the key prefix of the EVCache App
+     */
+    public static final int MEMCACHED_MAXIMUM_KEY_LENGTH = 250;
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final char SEPARATOR = '~';
+    private static final int HASH_LENGTH = 32;
+    private final int maximumLength;
+
+    /**
+     * @param maximumLength the maximum bytes of a key to be kept as it is
+     */
+    public KeyDigester(final int maximumLength) {
+        this(maximumLength, "");
+    }
+
+    /**
+     * @param maximumLength the maximum bytes of a key to be kept as it is
+     * @param keyPrefix     the key prefix of the EVCache App, {@link com.netflix.evcache.EVCache.Builder#setCachePrefix(String)}
+     */
+    public KeyDigester(final int maximumLength, final String keyPrefix) {
+        Assert.notNull(keyPrefix, "`keyPrefix` must not be null");
+        final int prefixLength = keyPrefix.isEmpty() ? 0 : keyPrefix.getBytes(UTF_8).length + 1;
+        Assert.state(maximumLength > HASH_LENGTH, "`maximumLength` must be greater than " + HASH_LENGTH);
+        Assert.state(MEMCACHED_MAXIMUM_KEY_LENGTH - prefixLength > HASH_LENGTH,
+                     "`keyPrefix` must leave more than " + HASH_LENGTH + " bytes for a key");
+        this.maximumLength = Math.min(maximumLength, MEMCACHED_MAXIMUM_KEY_LENGTH - prefixLength);
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return the key itself when it is not longer than maximum length, otherwise the digested key
+     */
+    public String digest(final String key) {
+        if (key.length() * 3 <= maximumLength || key.getBytes(UTF_8).length <= maximumLength) {
+            return key;
+        }
+        final String hash = HASH_FUNCTION.hashString(key, UTF_8).toString();
+        return head(key, maximumLength - HASH_LENGTH - 1) + SEPARATOR + hash;
+    }
+
+    private String head(final String key, final int maximumBytes) {
+        int bytes = 0;
+        int index = 0;
+        while (index < key.length()) {
+            final int codePoint = key.codePointAt(index);
+            bytes += utf8Length(codePoint);
+            if (bytes > maximumBytes) {
+                break;
+            }
+            index += Character.charCount(codePoint);
+        }
+        return key.substring(0, index);
+    }
+
+    private int utf8Length(final int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Local file of the most frequently read keys of a cache, one key per line, written periodically and on close,
+ * so that a restarted process can prefetch the keys that were hot before the restart.
+ *
+ * @author Taeho Kim
+ * @see EVCacheImpl#warmUp()
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class KeyManifest implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyManifest.class);
+    private static final int TRACKED_PER_KEY = 4;
+    private final Path file;
+    private final int size;
+    private final HotKeyTracker tracker;
+    private final ScheduledExecutorService writer;
+    private final Object lock = new Object();
+
+    /**
+     * @param file the manifest file
+     * @param size the maximum number of keys to be written
+     */
+    public KeyManifest(final Path file, final int size) {
+        this(file, size, Executors.newSingleThreadScheduledExecutor(daemonThreadFactory()));
+        writer.scheduleWithFixedDelay(this::write, 1, 1, TimeUnit.MINUTES);
+    }
+
+    KeyManifest(final Path file, final int size, final ScheduledExecutorService writer) {
+        Assert.notNull(file, "`file` must not be null");
+        Assert.state(size > 0, "`size` must be positive value");
+        Assert.notNull(writer, "`writer` must not be null");
+        this.file = file;
+        this.size = size;
+        this.tracker = new HotKeyTracker(size * TRACKED_PER_KEY);
+        this.writer = writer;
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        final CustomizableThreadFactory result = new CustomizableThreadFactory("evcache-key-manifest-");
+        result.setDaemon(true);
+        return result;
+    }
+
+    /**
+     * @param key the EVCache key which is read
+     */
+    public void record(final String key) {
+        tracker.record(key);
+    }
+
+    /**
+     * @return the keys of the manifest file, empty when absent or unreadable
+     */
+    public List<String> read() {
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        try {
+            return Files.readAllLines(file, UTF_8);
+        } catch (final IOException ex) {
+            LOGGER.warn("Can not read key manifest: {}", file, ex);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Replace the manifest file with the current hot keys
+     */
+    public void write() {
+        synchronized (lock) {
+            final List<String> keys = tracker.topKeys(size);
+            if (keys.isEmpty()) {
+                return;
+            }
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temporary, keys, UTF_8);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final IOException ex) {
+                LOGGER.warn("Can not write key manifest: {}", file, ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        writer.shutdownNow();
+        write();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Spread a hot key over copies {@code key#0..key#N-1}, which hash to different servers.
+ * A hot key is written under the key and all copies, read from a random copy.
+ *
+ * <p>Copies exist only for keys which are or recently were hot, so that a write of a key which is no longer hot
+ * deletes the copies once, while writes of cold keys delete nothing, and every eviction deletes all copies.
+ * Hotness is known only to this process, so that copies live only for a short time to live to bound staleness
+ * of a deletion missed for a key hot in other processes.
+ *
+ * @author Taeho Kim
+ */
+public class KeyReplicator {
+    static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final char SEPARATOR = '#';
+    private final int replicas;
+    private final Predicate<String> hotKey;
+    private final int timeToLive;
+    private final Cache<String, Boolean> recentlyHot;
+
+    /**
+     * @param replicas   the number of copies
+     * @param hotKey     whether the key is hot
+     * @param timeToLive the maximum time to live of copies
+     */
+    public KeyReplicator(final int replicas, final Predicate<String> hotKey, final Duration timeToLive) {
+        this(replicas, hotKey, timeToLive, DEFAULT_MAXIMUM_SIZE, Ticker.systemTicker());
+    }
+
+    KeyReplicator(final int replicas,
+                  final Predicate<String> hotKey,
+                  final Duration timeToLive,
+                  final int maximumSize,
+                  final Ticker ticker) {
+        Assert.state(replicas > 1, "`replicas` must be greater than one");
+        Assert.notNull(hotKey, "`hotKey` must not be null");
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.state(!timeToLive.isNegative() && !timeToLive.isZero(), "`timeToLive` must be positive value");
+        Assert.state(maximumSize > 0, "`maximumSize` must be positive value");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        this.replicas = replicas;
+        this.hotKey = hotKey;
+        this.timeToLive = Math.toIntExact(timeToLive.getSeconds() + (timeToLive.getNano() > 0 ? 1 : 0));
+        this.recentlyHot = CacheBuilder.newBuilder()
+                                       .maximumSize(maximumSize)
+                                       .expireAfterWrite(this.timeToLive, TimeUnit.SECONDS)
+                                       .ticker(ticker)
+                                       .build();
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return whether to read the key from a copy
+     */
+    public boolean isHotKey(final String key) {
+        if (hotKey.test(key)) {
+            recentlyHot.put(key, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return a random copy of the key
+     */
+    public String pick(final String key) {
+        return copyOf(key, ThreadLocalRandom.current().nextInt(replicas));
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return all copies of the key to be written, empty when the key is not hot
+     */
+    public List<String> replicasToWrite(final String key) {
+        return isHotKey(key) ? replicasOf(key) : Collections.emptyList();
+    }
+
+    /**
+     * @param key the EVCache key being written
+     * @return all copies of the key to be deleted once the key is no longer hot,
+     * empty when the key is hot or was not hot within the time to live of copies
+     */
+    public List<String> replicasToDelete(final String key) {
+        if (isHotKey(key) || recentlyHot.asMap().remove(key) == null) {
+            return Collections.emptyList();
+        }
+        return replicasOf(key);
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return all copies of the key
+     */
+    public List<String> replicasOf(final String key) {
+        final List<String> result = new ArrayList<>(replicas);
+        for (int index = 0; index < replicas; index++) {
+            result.add(copyOf(key, index));
+        }
+        return result;
+    }
+
+    /**
+     * @param ttl the time to live in seconds of the key
+     * @return the time to live in seconds of copies, not longer than the maximum
+     */
+    public int timeToLiveOf(final int ttl) {
+        return ttl > 0 ? Math.min(ttl, timeToLive) : timeToLive;
+    }
+
+    private String copyOf(final String key, final int index) {
+        return key + SEPARATOR + index;
+    }
+}
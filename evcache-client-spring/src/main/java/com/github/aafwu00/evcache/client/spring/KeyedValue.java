@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import java.io.Serializable;
+
+/**
+ * Envelope of a value stored under a digested key, keeping the original key to detect collisions.
+ *
+ * @author Taeho Kim
+ * @see KeyDigester
+ */
+final class KeyedValue implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String key;
+    private final Object value;
+
+    KeyedValue(final String key, final Object value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * @param expectedKey the original key
+     * @return the value, {@code null} when the original key is different
+     */
+    Object valueOf(final String expectedKey) {
+        return key.equals(expectedKey) ? value : null;
+    }
+
+    Object getValue() {
+        return value;
+    }
+}
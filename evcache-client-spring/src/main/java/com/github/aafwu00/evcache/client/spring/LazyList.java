@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unmodifiable {@link java.util.List} that decodes its elements on demand from the retained bytes
+ * written by {@link LazyListTranscoder}. Decoded elements are kept, so each element is decoded at most once.
+ *
+ * @param <E> the type of elements
+ * @author Taeho Kim
+ */
+public class LazyList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = -2839147305720716851L;
+    private static final Object NOT_DECODED = new Object();
+    private final transient byte[] data;
+    private final transient Transcoder<Object> transcoder;
+    private final transient int size;
+    private final transient AtomicReferenceArray<Object> decoded;
+
+    LazyList(final byte[] data, final Transcoder<Object> transcoder) {
+        super();
+        this.data = data;
+        this.transcoder = transcoder;
+        this.size = ByteBuffer.wrap(data).getInt(0);
+        this.decoded = new AtomicReferenceArray<>(size);
+        for (int index = 0; index < size; index++) {
+            decoded.lazySet(index, NOT_DECODED);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(final int index) {
+        final Object value = decoded.get(rangeCheck(index));
+        if (value != NOT_DECODED) {
+            return (E) value;
+        }
+        final Object result = decode(index);
+        decoded.compareAndSet(index, NOT_DECODED, result);
+        return (E) decoded.get(index);
+    }
+
+    private int rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return index;
+    }
+
+    private Object decode(final int index) {
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        final int entry = LazyListTranscoder.indexOffset(index);
+        final int flags = buffer.getInt(entry);
+        if (flags == LazyListTranscoder.NULL_ELEMENT_FLAGS) {
+            return null;
+        }
+        final int start = buffer.getInt(entry + Integer.BYTES);
+        final int end = index + 1 < size ? buffer.getInt(LazyListTranscoder.indexOffset(index + 1) + Integer.BYTES)
+                                         : data.length;
+        return transcoder.decode(new CachedData(flags, Arrays.copyOfRange(data, start, end), transcoder.getMaxSize()));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    Transcoder<Object> getTranscoder() {
+        return transcoder;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<>(this);
+    }
+}
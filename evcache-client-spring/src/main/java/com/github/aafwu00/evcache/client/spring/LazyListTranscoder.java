@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link Transcoder} that writes {@link List} values as an offset index followed by the elements encoded one by one
+ * with the given {@link Transcoder}, and reads them as {@link LazyList}, so reading a part of list decodes only
+ * the touched elements. Other values and smaller lists are delegated to the given {@link Transcoder}.
+ *
+ * <p>Layout: {@code [size][flags, offset] * size [element] * size}
+ *
+ * @author Taeho Kim
+ */
+public class LazyListTranscoder implements Transcoder<Object> {
+    /**
+     * Memcached flags of the list, inside the special type range(0xff00) of
+     * {@link net.spy.memcached.transcoders.SerializingTranscoder}
+     */
+    public static final int LAZY_LIST_FLAGS = 0x7c << 8;
+    static final int NULL_ELEMENT_FLAGS = -1;
+    private static final int INDEX_ENTRY_SIZE = Integer.BYTES * 2;
+    private final Transcoder<Object> delegate;
+    private final int minimumSize;
+
+    /**
+     * @param delegate    the transcoder to be used for elements and other values
+     * @param minimumSize the minimum size of list to be written lazily
+     */
+    public LazyListTranscoder(final Transcoder<Object> delegate, final int minimumSize) {
+        Assert.notNull(delegate, "`delegate` must not be null");
+        Assert.state(minimumSize >= 0, "`minimumSize` must not be negative");
+        this.delegate = delegate;
+        this.minimumSize = minimumSize;
+    }
+
+    static int indexOffset(final int index) {
+        return Integer.BYTES + index * INDEX_ENTRY_SIZE;
+    }
+
+    @Override
+    public boolean asyncDecode(final CachedData data) {
+        return data.getFlags() != LAZY_LIST_FLAGS && delegate.asyncDecode(data);
+    }
+
+    @Override
+    public CachedData encode(final Object value) {
+        if (value instanceof LazyList && ((LazyList<?>) value).getTranscoder() == delegate) {
+            return new CachedData(LAZY_LIST_FLAGS, ((LazyList<?>) value).getData(), getMaxSize());
+        }
+        if (value instanceof List && ((List<?>) value).size() >= minimumSize) {
+            return new CachedData(LAZY_LIST_FLAGS, encodeList((List<?>) value), getMaxSize());
+        }
+        return delegate.encode(value);
+    }
+
+    private byte[] encodeList(final List<?> list) {
+        final List<CachedData> elements = new ArrayList<>(list.size());
+        int length = indexOffset(list.size());
+        for (final Object element : list) {
+            final CachedData data = element == null ? null : delegate.encode(element);
+            elements.add(data);
+            length += data == null ? 0 : data.getData().length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(elements.size());
+        int offset = indexOffset(elements.size());
+        for (final CachedData data : elements) {
+            buffer.putInt(data == null ? NULL_ELEMENT_FLAGS : data.getFlags()).putInt(offset);
+            offset += data == null ? 0 : data.getData().length;
+        }
+        for (final CachedData data : elements) {
+            if (data != null) {
+                buffer.put(data.getData());
+            }
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public Object decode(final CachedData data) {
+        if (data.getFlags() == LAZY_LIST_FLAGS) {
+            return new LazyList<>(data.getData(), delegate);
+        }
+        return delegate.decode(data);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return delegate.getMaxSize();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.primitives.Longs;
+import net.spy.memcached.CachedData;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Memcache style leases against setting a stale value loaded before an invalidation.
+ * A miss stores a random token under {@code key#lease}, an evict deletes it,
+ * and the loaded value is set only when the token is still there.
+ *
+ * <p>The check and the set are not atomic, which leaves a window of a round trip instead of the whole load.
+ *
+ * @author Taeho Kim
+ */
+public class Leases {
+    private static final String SUFFIX = "#lease";
+    private static final int FLAGS = 0;
+    private final int timeToLive;
+
+    /**
+     * @param timeToLive the time to live of a lease, longer than the loads
+     */
+    public Leases(final Duration timeToLive) {
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.state(timeToLive.getSeconds() > 0, "`timeToLive` must be positive value");
+        this.timeToLive = Math.toIntExact(timeToLive.getSeconds());
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return the key of the lease of the key
+     */
+    public String leaseKey(final String key) {
+        return key + SUFFIX;
+    }
+
+    /**
+     * @return a new random token
+     */
+    public CachedData newToken() {
+        return new CachedData(FLAGS, Longs.toByteArray(ThreadLocalRandom.current().nextLong()), CachedData.MAX_SIZE);
+    }
+
+    /**
+     * @param token   the token handed out on the miss
+     * @param current the token stored under the lease key now
+     * @return whether the lease is still valid
+     */
+    public boolean isValid(final CachedData token, final CachedData current) {
+        return current != null && Arrays.equals(token.getData(), current.getData());
+    }
+
+    /**
+     * @return the time to live of a lease, seconds
+     */
+    public int getTimeToLive() {
+        return timeToLive;
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Persistent local tier keeping encoded values in memory-mapped segment files of append-only records,
+ * so that large and rarely changing values survive restarts and a process starts warm.
+ *
+ * <p>Record: {@code [length][expiresAt][flags][key length][key][data length][data]}, data length is {@code -1}
+ * for a removal. The index is rebuilt by scanning segments at startup, expired records are skipped on read and
+ * dropped by the background compaction, which rewrites live records of the oldest sparse segments to the active one.
+ * When the total size exceeds the maximum size, the oldest segment is dropped.
+ *
+ * <p>Reads share a lock which writes, compaction and close take exclusively, so that a segment is unmapped
+ * right after it is retired, without waiting for the garbage collector, and never while being read.
+ *
+ * @author Taeho Kim
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class MappedDiskTier implements EVCacheLocalTier, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedDiskTier.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int REMOVED = -1;
+    private static final double COMPACTION_THRESHOLD = 0.5;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maximumSegments;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+    private final NavigableMap<Long, Segment> segments;
+    private final Map<String, Location> index;
+    private final ScheduledExecutorService compactor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment active;
+
+    /**
+     * @param directory   the directory of segment files
+     * @param segmentSize the bytes of a segment file
+     * @param maximumSize the maximum bytes of all segment files
+     * @param timeToLive  the time to live of values
+     */
+    public MappedDiskTier(final Path directory,
+                          final int segmentSize,
+                          final long maximumSize,
+                          final Duration timeToLive) {
+        this(directory, segmentSize, maximumSize, timeToLive, Clock.systemUTC());
+        compactor.scheduleWithFixedDelay(this::compact, 1, 1, TimeUnit.MINUTES);
+    }
+
+    MappedDiskTier(final Path directory,
+                   final int segmentSize,
+                   final long maximumSize,
+                   final Duration timeToLive,
+                   final Clock clock) {
+        Assert.notNull(directory, "`directory` must not be null");
+        Assert.state(segmentSize > HEADER_SIZE, "`segmentSize` must be greater than record header");
+        Assert.state(maximumSize >= segmentSize, "`maximumSize` must not be less than `segmentSize`");
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.notNull(clock, "`clock` must not be null");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maximumSegments = (int) Math.max(2, maximumSize / segmentSize);
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        this.segments = new ConcurrentSkipListMap<>();
+        this.index = new ConcurrentHashMap<>();
+        this.compactor = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory());
+        recover();
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        final CustomizableThreadFactory result = new CustomizableThreadFactory("evcache-disk-tier-");
+        result.setDaemon(true);
+        return result;
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            for (final Path file : segmentFiles()) {
+                final Segment segment = new Segment(file, segmentSize);
+                segments.put(segment.id, segment);
+                segment.scan(this);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        active = segments.isEmpty() ? roll() : segments.lastEntry().getValue();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        final List<Path> result = new ArrayList<>();
+        final String glob = SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            stream.forEach(result::add);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    @Override
+    public CachedData get(final String key) {
+        lock.readLock().lock();
+        try {
+            final Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (location.isExpired(clock.millis())) {
+                index.remove(key, location);
+                return null;
+            }
+            final byte[] data = location.segment.read(location.offset, location.length);
+            return new CachedData(location.flags, data, CachedData.MAX_SIZE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(final String key, final CachedData data) {
+        lock.writeLock().lock();
+        try {
+            append(key, data.getFlags(), data.getData(), clock.millis() + timeToLiveMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(final String key) {
+        lock.writeLock().lock();
+        try {
+            remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(final String key) {
+        if (index.containsKey(key)) {
+            append(key, 0, null, 0);
+        }
+    }
+
+    private void append(final String key, final int flags, final byte[] data, final long expiresAt) {
+        final byte[] keyBytes = key.getBytes(UTF_8);
+        final int length = HEADER_SIZE + keyBytes.length + Integer.BYTES + (data == null ? 0 : data.length);
+        if (length > segmentSize) {
+            remove(key);
+            return;
+        }
+        if (active.remaining() < length) {
+            active = roll();
+        }
+        final int offset = active.append(expiresAt, flags, keyBytes, data);
+        apply(key, data == null ? null : new Location(active, offset, data.length, length, flags, expiresAt));
+    }
+
+    private void apply(final String key, final Location location) {
+        final Location previous = location == null ? index.remove(key) : index.put(key, location);
+        if (previous != null) {
+            previous.segment.release(previous.size);
+        }
+    }
+
+    private Segment roll() {
+        final long id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        try {
+            final Path file = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+            final Segment result = new Segment(file, segmentSize);
+            segments.put(result.id, result);
+            while (segments.size() > maximumSegments) {
+                drop(segments.firstEntry().getValue());
+            }
+            return result;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void drop(final Segment segment) {
+        index.entrySet().removeIf(entry -> entry.getValue().segment == segment);
+        segments.remove(segment.id);
+        segment.unmap();
+        segment.delete();
+    }
+
+    /**
+     * Rewrite live records of sparse segments to the active segment, and delete them.
+     * Proceeds from the oldest segment only, so that no removal record is lost while an older value remains.
+     */
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            final long now = clock.millis();
+            index.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+            for (final Segment segment : new ArrayList<>(segments.values())) {
+                if (segment == active || segment.liveRatio() >= COMPACTION_THRESHOLD) {
+                    break;
+                }
+                rewrite(segment);
+                if (segments.remove(segment.id, segment)) {
+                    segment.unmap();
+                    segment.delete();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A segment dropped by a roll while rewritten is unmapped, so that the rest of it is dropped as well
+     */
+    private void rewrite(final Segment segment) {
+        index.forEach((key, location) -> {
+            if (location.segment == segment && segments.get(segment.id) == segment) {
+                append(key, location.flags, segment.read(location.offset, location.length), location.expiresAt);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            segments.values().forEach(Segment::force);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    double liveRatio() {
+        return active.liveRatio();
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final int size;
+        private final int flags;
+        private final long expiresAt;
+
+        /**
+         * @param length the bytes of the data
+         * @param size   the bytes of the record including header and key
+         */
+        private Location(final Segment segment,
+                         final int offset,
+                         final int length,
+                         final int size,
+                         final int flags,
+                         final long expiresAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.size = size;
+            this.flags = flags;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private final AtomicLong liveBytes;
+
+        private Segment(final Path file, final int size) throws IOException {
+            final String name = file.getFileName().toString();
+            this.id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            this.file = file;
+            this.liveBytes = new AtomicLong();
+            try (FileChannel channel = FileChannel.open(file,
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.READ,
+                                                        StandardOpenOption.WRITE)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        private void scan(final MappedDiskTier tier) {
+            final long now = tier.clock.millis();
+            while (position + HEADER_SIZE <= buffer.capacity()) {
+                final int length = buffer.getInt(position);
+                if (length < HEADER_SIZE || position + length > buffer.capacity()) {
+                    break;
+                }
+                final long expiresAt = buffer.getLong(position + Integer.BYTES);
+                final int flags = buffer.getInt(position + Integer.BYTES + Long.BYTES);
+                final int keyLength = buffer.getInt(position + Integer.BYTES + Long.BYTES + Integer.BYTES);
+                final String key = new String(read(position + HEADER_SIZE, keyLength), UTF_8);
+                final int dataLength = buffer.getInt(position + HEADER_SIZE + keyLength);
+                final int offset = position + HEADER_SIZE + keyLength + Integer.BYTES;
+                position += length;
+                if (dataLength == REMOVED || expiresAt <= now) {
+                    tier.apply(key, null);
+                } else {
+                    liveBytes.addAndGet(length);
+                    tier.apply(key, new Location(this, offset, dataLength, length, flags, expiresAt));
+                }
+            }
+        }
+
+        private int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        private int append(final long expiresAt, final int flags, final byte[] key, final byte[] data) {
+            final int length = HEADER_SIZE + key.length + Integer.BYTES + (data == null ? 0 : data.length);
+            final ByteBuffer target = buffer.duplicate();
+            target.position(position);
+            target.putInt(length)
+                  .putLong(expiresAt)
+                  .putInt(flags)
+                  .putInt(key.length)
+                  .put(key)
+                  .putInt(data == null ? REMOVED : data.length);
+            final int offset = target.position();
+            if (data != null) {
+                target.put(data);
+                liveBytes.addAndGet(length);
+            }
+            if (target.remaining() >= Integer.BYTES) {
+                target.putInt(0);
+            }
+            position += length;
+            return offset;
+        }
+
+        private byte[] read(final int offset, final int length) {
+            final byte[] result = new byte[length];
+            final ByteBuffer source = buffer.duplicate();
+            source.position(offset);
+            source.get(result);
+            return result;
+        }
+
+        private void release(final int size) {
+            liveBytes.addAndGet(-size);
+        }
+
+        private double liveRatio() {
+            return position == 0 ? 0 : (double) liveBytes.get() / position;
+        }
+
+        private void force() {
+            buffer.force();
+        }
+
+        /**
+         * Release the mapping of the segment now, {@code invokeCleaner} of {@code sun.misc.Unsafe} since Java 9,
+         * otherwise the cleaner of the buffer, left to the garbage collector when neither is accessible
+         */
+        private void unmap() {
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+            } catch (final NoSuchMethodException ex) {
+                clean();
+            } catch (final ReflectiveOperationException | RuntimeException ex) {
+                LOGGER.debug("Can not unmap segment file: {}", file, ex);
+            }
+        }
+
+        private void clean() {
+            try {
+                final Method cleaner = buffer.getClass().getMethod("cleaner");
+                cleaner.setAccessible(true);
+                final Object result = cleaner.invoke(buffer);
+                result.getClass().getMethod("clean").invoke(result);
+            } catch (final ReflectiveOperationException | RuntimeException ex) {
+                LOGGER.debug("Can not unmap segment file: {}", file, ex);
+            }
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException ex) {
+                LOGGER.warn("Can not delete segment file: {}", file, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Local filter of keys confirmed absent by the loader, so that repeated lookups of them skip the remote get
+ * and read the cached {@code null}, or miss when {@code null} values are not allowed.
+ * Keys are kept in two generations of {@link CuckooFilter}, the older generation is dropped when the current one
+ * is full or older than the time to live, which bounds both false positive rate and staleness.
+ * A key is removed when its value is written or evicted.
+ *
+ * <p>Metrics: {@code evcache.negativeFilter.skipped} and {@code evcache.negativeFilter.rotations}
+ * tagged with the cache name.
+ *
+ * @author Taeho Kim
+ */
+public class NegativeLookupFilter {
+    private final int expectedInsertions;
+    private final long timeToLiveNanos;
+    private final Ticker ticker;
+    private final Counter skipped;
+    private final Counter rotations;
+    private final Object lock = new Object();
+    private CuckooFilter current;
+    private CuckooFilter previous;
+    private long currentStart;
+
+    /**
+     * @param name               the name of the cache, tagged to metrics
+     * @param expectedInsertions the number of absent keys of a generation
+     * @param timeToLive         the maximum age of a generation
+     */
+    public NegativeLookupFilter(final String name, final int expectedInsertions, final Duration timeToLive) {
+        this(name, expectedInsertions, timeToLive, Ticker.systemTicker(), Spectator.globalRegistry());
+    }
+
+    NegativeLookupFilter(final String name,
+                         final int expectedInsertions,
+                         final Duration timeToLive,
+                         final Ticker ticker,
+                         final Registry registry) {
+        Assert.notNull(name, "`name` must not be null");
+        Assert.state(expectedInsertions > 0, "`expectedInsertions` must be positive value");
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        Assert.notNull(registry, "`registry` must not be null");
+        this.expectedInsertions = expectedInsertions;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+        this.skipped = registry.counter("evcache.negativeFilter.skipped", "cache", name);
+        this.rotations = registry.counter("evcache.negativeFilter.rotations", "cache", name);
+        this.current = new CuckooFilter(expectedInsertions);
+        this.previous = new CuckooFilter(1);
+        this.currentStart = ticker.read();
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return whether the key was confirmed absent, the remote get is to be skipped
+     */
+    public boolean isAbsent(final String key) {
+        final boolean result;
+        synchronized (lock) {
+            rotateIfExpired();
+            result = current.mightContain(key) || previous.mightContain(key);
+        }
+        if (result) {
+            skipped.increment();
+        }
+        return result;
+    }
+
+    /**
+     * @param key the EVCache key confirmed absent by the loader
+     */
+    public void absent(final String key) {
+        synchronized (lock) {
+            rotateIfExpired();
+            if (!current.put(key)) {
+                rotate();
+                current.put(key);
+            }
+        }
+    }
+
+    /**
+     * @param key the EVCache key of which value is written or evicted
+     */
+    public void present(final String key) {
+        synchronized (lock) {
+            current.remove(key);
+            previous.remove(key);
+        }
+    }
+
+    private void rotateIfExpired() {
+        final long age = ticker.read() - currentStart;
+        if (age >= timeToLiveNanos) {
+            rotate();
+            if (age >= timeToLiveNanos * 2) {
+                previous = new CuckooFilter(1);
+            }
+        }
+    }
+
+    private void rotate() {
+        previous = current;
+        current = new CuckooFilter(expectedInsertions);
+        currentStart = ticker.read();
+        rotations.increment();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+import org.springframework.cache.support.NullValue;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Transcoder} that stores {@link NullValue} as a one byte sentinel instead of a serialized object.
+ * Other values are delegated to the given {@link Transcoder}.
+ *
+ * @author Taeho Kim
+ */
+public class NullValueTranscoder implements Transcoder<Object> {
+    /**
+     * Memcached flags of the sentinel, inside the special type range(0xff00) of
+     * {@link net.spy.memcached.transcoders.SerializingTranscoder} so that older clients treat it as a miss.
+     */
+    public static final int NULL_VALUE_FLAGS = 0x7e << 8;
+    private static final byte[] NULL_VALUE_DATA = {0};
+    private final Transcoder<Object> delegate;
+
+    /**
+     * @param delegate the transcoder to be used for non {@code null} values
+     */
+    public NullValueTranscoder(final Transcoder<Object> delegate) {
+        Assert.notNull(delegate, "`delegate` must not be null");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean asyncDecode(final CachedData data) {
+        return !isNullValue(data) && delegate.asyncDecode(data);
+    }
+
+    @Override
+    public CachedData encode(final Object value) {
+        if (value == NullValue.INSTANCE) {
+            return new CachedData(NULL_VALUE_FLAGS, NULL_VALUE_DATA, getMaxSize());
+        }
+        return delegate.encode(value);
+    }
+
+    @Override
+    public Object decode(final CachedData data) {
+        if (isNullValue(data)) {
+            return NullValue.INSTANCE;
+        }
+        return delegate.decode(data);
+    }
+
+    private boolean isNullValue(final CachedData data) {
+        return data.getFlags() == NULL_VALUE_FLAGS;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return delegate.getMaxSize();
+    }
+}
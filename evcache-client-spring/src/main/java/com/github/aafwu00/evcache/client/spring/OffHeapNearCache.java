@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import net.spy.memcached.CachedData;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded local cache tier keeping encoded values in direct memory, so that hot keys skip the network
+ * without holding deserialized objects on the heap. Values are decoded by the caller on each hit.
+ *
+ * <p>The capacity is allocated up front in slabs of direct memory, split into blocks of 256 bytes.
+ * A value is copied into free blocks, which are returned on removal, so that no direct memory is allocated
+ * per entry and the bytes held are bounded by the capacity. The weight of a value is the bytes of its blocks.
+ *
+ * <p>Eviction is size-aware Window TinyLFU: new entries enter a small LRU window, and an entry leaving the window
+ * is admitted to the main LRU only when it is more popular than the main's victim.
+ *
+ * @author Taeho Kim
+ */
+public class OffHeapNearCache implements EVCacheLocalTier {
+    private static final int WINDOW_PERCENTAGE = 1;
+    private static final int BLOCK_SIZE = 256;
+    private static final int BLOCKS_PER_SLAB = (1 << 26) / BLOCK_SIZE;
+    private final long capacity;
+    private final long windowCapacity;
+    private final long timeToLiveNanos;
+    private final Ticker ticker;
+    private final Map<String, Entry> window;
+    private final Map<String, Entry> main;
+    private final FrequencySketch sketch;
+    private final ByteBuffer[] slabs;
+    private final int[] freeBlocks;
+    private final Object lock = new Object();
+    private int freeCount;
+    private long windowWeight;
+    private long mainWeight;
+
+    /**
+     * @param capacity   the maximum bytes of values, allocated up front
+     * @param timeToLive the time to live of values
+     */
+    public OffHeapNearCache(final long capacity, final Duration timeToLive) {
+        this(capacity, timeToLive, Ticker.systemTicker());
+    }
+
+    OffHeapNearCache(final long capacity, final Duration timeToLive, final Ticker ticker) {
+        Assert.state(capacity >= BLOCK_SIZE, "`capacity` must not be less than 256 bytes");
+        Assert.state(capacity / BLOCK_SIZE <= Integer.MAX_VALUE, "`capacity` must not be larger than 512 GiB");
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        final int blocks = (int) (capacity / BLOCK_SIZE);
+        this.capacity = (long) blocks * BLOCK_SIZE;
+        this.windowCapacity = Math.max(1, this.capacity * WINDOW_PERCENTAGE / 100);
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+        this.window = new LinkedHashMap<>(16, 0.75f, true);
+        this.main = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, this.capacity / 1024));
+        this.slabs = new ByteBuffer[(blocks + BLOCKS_PER_SLAB - 1) / BLOCKS_PER_SLAB];
+        for (int index = 0; index < slabs.length; index++) {
+            final int slabBlocks = Math.min(BLOCKS_PER_SLAB, blocks - index * BLOCKS_PER_SLAB);
+            slabs[index] = ByteBuffer.allocateDirect(slabBlocks * BLOCK_SIZE);
+        }
+        this.freeBlocks = new int[blocks];
+        for (int block = 0; block < blocks; block++) {
+            freeBlocks[block] = blocks - 1 - block;
+        }
+        this.freeCount = blocks;
+    }
+
+    /**
+     * @return copy of the value, {@code null} when absent or expired
+     */
+    @Override
+    public CachedData get(final String key) {
+        synchronized (lock) {
+            sketch.increment(key);
+            Entry entry = window.get(key);
+            if (entry == null) {
+                entry = main.get(key);
+            }
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(ticker.read())) {
+                remove(key);
+                return null;
+            }
+            return read(entry);
+        }
+    }
+
+    /**
+     * The entry is weighed and admitted before its blocks are taken,
+     * so that the blocks freed by the eviction are available to it
+     */
+    @Override
+    public void put(final String key, final CachedData data) {
+        synchronized (lock) {
+            sketch.increment(key);
+            remove(key);
+            final Entry entry = new Entry(data, ticker.read() + timeToLiveNanos);
+            if (entry.weight > capacity - windowCapacity) {
+                return;
+            }
+            window.put(key, entry);
+            windowWeight += entry.weight;
+            evict();
+            if (window.containsKey(key) || main.containsKey(key)) {
+                write(entry, data.getData());
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(final String key) {
+        synchronized (lock) {
+            remove(key);
+        }
+    }
+
+    private void remove(final String key) {
+        final Entry windowEntry = window.remove(key);
+        if (windowEntry != null) {
+            windowWeight -= windowEntry.weight;
+            release(windowEntry);
+        }
+        final Entry mainEntry = main.remove(key);
+        if (mainEntry != null) {
+            mainWeight -= mainEntry.weight;
+            release(mainEntry);
+        }
+    }
+
+    private void evict() {
+        while (windowWeight > windowCapacity) {
+            final Iterator<Map.Entry<String, Entry>> candidates = window.entrySet().iterator();
+            final Map.Entry<String, Entry> candidate = candidates.next();
+            candidates.remove();
+            windowWeight -= candidate.getValue().weight;
+            if (admit(candidate.getKey(), candidate.getValue())) {
+                main.put(candidate.getKey(), candidate.getValue());
+                mainWeight += candidate.getValue().weight;
+            } else {
+                release(candidate.getValue());
+            }
+        }
+    }
+
+    private boolean admit(final String key, final Entry entry) {
+        final long mainCapacity = capacity - windowCapacity;
+        if (entry.weight > mainCapacity) {
+            return false;
+        }
+        final int frequency = sketch.frequency(key);
+        final long now = ticker.read();
+        long freed = 0;
+        int count = 0;
+        for (final Map.Entry<String, Entry> victim : main.entrySet()) {
+            if (mainWeight - freed + entry.weight <= mainCapacity) {
+                break;
+            }
+            if (!victim.getValue().isExpired(now) && sketch.frequency(victim.getKey()) >= frequency) {
+                return false;
+            }
+            freed += victim.getValue().weight;
+            count++;
+        }
+        final Iterator<Entry> victims = main.values().iterator();
+        for (int index = 0; index < count; index++) {
+            final Entry victim = victims.next();
+            mainWeight -= victim.weight;
+            release(victim);
+            victims.remove();
+        }
+        return true;
+    }
+
+    private void write(final Entry entry, final byte[] bytes) {
+        for (int index = 0; index < entry.blocks.length; index++) {
+            entry.blocks[index] = freeBlocks[--freeCount];
+            entry.taken++;
+            final int offset = index * BLOCK_SIZE;
+            slab(entry.blocks[index]).put(bytes, offset, Math.min(BLOCK_SIZE, bytes.length - offset));
+        }
+    }
+
+    private CachedData read(final Entry entry) {
+        final byte[] bytes = new byte[entry.length];
+        for (int index = 0; index < entry.blocks.length; index++) {
+            final int offset = index * BLOCK_SIZE;
+            slab(entry.blocks[index]).get(bytes, offset, Math.min(BLOCK_SIZE, bytes.length - offset));
+        }
+        return new CachedData(entry.flags, bytes, CachedData.MAX_SIZE);
+    }
+
+    private ByteBuffer slab(final int block) {
+        final ByteBuffer slab = slabs[block / BLOCKS_PER_SLAB];
+        slab.position(block % BLOCKS_PER_SLAB * BLOCK_SIZE);
+        return slab;
+    }
+
+    private void release(final Entry entry) {
+        for (int index = 0; index < entry.taken; index++) {
+            freeBlocks[freeCount++] = entry.blocks[index];
+        }
+        entry.taken = 0;
+    }
+
+    /**
+     * @return the bytes of values including window
+     */
+    public long weight() {
+        synchronized (lock) {
+            return windowWeight + mainWeight;
+        }
+    }
+
+    private static final class Entry {
+        private final int flags;
+        private final int length;
+        private final int[] blocks;
+        private final long expiresAt;
+        private final long weight;
+        private int taken;
+
+        private Entry(final CachedData data, final long expiresAt) {
+            this.flags = data.getFlags();
+            this.length = data.getData().length;
+            this.blocks = new int[Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+            this.expiresAt = expiresAt;
+            this.weight = (long) blocks.length * BLOCK_SIZE;
+        }
+
+        private boolean isExpired(final long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the progress of {@link CachePrimer#prime(EVCache, java.util.Iterator, java.util.function.Consumer)}.
+ *
+ * @author Taeho Kim
+ */
+public final class PrimingProgress {
+    private final long written;
+    private final long failed;
+    private final Duration elapsed;
+    private final int inFlightLimit;
+
+    PrimingProgress(final long written, final long failed, final Duration elapsed, final int inFlightLimit) {
+        this.written = written;
+        this.failed = failed;
+        this.elapsed = elapsed;
+        this.inFlightLimit = inFlightLimit;
+    }
+
+    /**
+     * @return the number of entries written
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * @return the number of entries failed to be written
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return the current limit of in-flight writes, adapted to the observed latency
+     */
+    public int getInFlightLimit() {
+        return inFlightLimit;
+    }
+
+    /**
+     * @return the number of entries written per second
+     */
+    public double getThroughput() {
+        final long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : written * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("written=%d, failed=%d, elapsed=%s, throughput=%.1f/s, inFlightLimit=%d",
+                             written, failed, elapsed, getThroughput(), inFlightLimit);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+import net.spy.memcached.transcoders.TranscoderUtils;
+import org.springframework.util.Assert;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * {@link Transcoder} that stores {@link String}, numbers, {@link Boolean} and {@code byte[]} in their natural form,
+ * without compression or object serialization. Other values are delegated to the given {@link Transcoder}.
+ *
+ * <p>Flags are the same as {@link net.spy.memcached.transcoders.SerializingTranscoder},
+ * so values written by this transcoder can be read by the native client, and strings and byte arrays stay raw
+ * for clients written in other languages. The delegate must not use these flags for other values.
+ *
+ * @author Taeho Kim
+ */
+public class PrimitiveValueTranscoder implements Transcoder<Object> {
+    public static final int STRING_FLAGS = 0;
+    public static final int BOOLEAN_FLAGS = 1 << 8;
+    public static final int INTEGER_FLAGS = 2 << 8;
+    public static final int LONG_FLAGS = 3 << 8;
+    public static final int FLOAT_FLAGS = 6 << 8;
+    public static final int DOUBLE_FLAGS = 7 << 8;
+    public static final int BYTE_ARRAY_FLAGS = 8 << 8;
+    private final Transcoder<Object> delegate;
+    private final TranscoderUtils utils;
+
+    /**
+     * @param delegate the transcoder to be used for other values
+     */
+    public PrimitiveValueTranscoder(final Transcoder<Object> delegate) {
+        Assert.notNull(delegate, "`delegate` must not be null");
+        this.delegate = delegate;
+        this.utils = new TranscoderUtils(true);
+    }
+
+    @Override
+    public boolean asyncDecode(final CachedData data) {
+        return !isPrimitive(data.getFlags()) && delegate.asyncDecode(data);
+    }
+
+    @Override
+    public CachedData encode(final Object value) {
+        if (value instanceof String) {
+            return create(STRING_FLAGS, ((String) value).getBytes(UTF_8));
+        }
+        if (value instanceof Long) {
+            return create(LONG_FLAGS, utils.encodeLong((Long) value));
+        }
+        if (value instanceof Integer) {
+            return create(INTEGER_FLAGS, utils.encodeInt((Integer) value));
+        }
+        if (value instanceof byte[]) {
+            return create(BYTE_ARRAY_FLAGS, (byte[]) value);
+        }
+        if (value instanceof Boolean) {
+            return create(BOOLEAN_FLAGS, utils.encodeBoolean((Boolean) value));
+        }
+        if (value instanceof Double) {
+            return create(DOUBLE_FLAGS, utils.encodeLong(Double.doubleToRawLongBits((Double) value)));
+        }
+        if (value instanceof Float) {
+            return create(FLOAT_FLAGS, utils.encodeInt(Float.floatToRawIntBits((Float) value)));
+        }
+        return delegate.encode(value);
+    }
+
+    private CachedData create(final int flags, final byte[] data) {
+        return new CachedData(flags, data, getMaxSize());
+    }
+
+    @Override
+    public Object decode(final CachedData data) {
+        final byte[] bytes = data.getData();
+        switch (data.getFlags()) {
+            case STRING_FLAGS:
+                return new String(bytes, UTF_8);
+            case LONG_FLAGS:
+                return utils.decodeLong(bytes);
+            case INTEGER_FLAGS:
+                return utils.decodeInt(bytes);
+            case BYTE_ARRAY_FLAGS:
+                return bytes;
+            case BOOLEAN_FLAGS:
+                return utils.decodeBoolean(bytes);
+            case DOUBLE_FLAGS:
+                return Double.longBitsToDouble(utils.decodeLong(bytes));
+            case FLOAT_FLAGS:
+                return Float.intBitsToFloat(utils.decodeInt(bytes));
+            default:
+                return delegate.decode(data);
+        }
+    }
+
+    private boolean isPrimitive(final int flags) {
+        return flags == STRING_FLAGS
+               || flags == LONG_FLAGS
+               || flags == INTEGER_FLAGS
+               || flags == BYTE_ARRAY_FLAGS
+               || flags == BOOLEAN_FLAGS
+               || flags == DOUBLE_FLAGS
+               || flags == FLOAT_FLAGS;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return delegate.getMaxSize();
+    }
+}
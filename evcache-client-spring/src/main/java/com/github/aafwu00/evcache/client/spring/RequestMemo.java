@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memo of cache reads bound to the current thread while a request is processed, so that repeated reads
+ * of the same key within the request are served without a remote get. Values are memoized encoded,
+ * and decoded for each read, so that callers of the request never share an instance.
+ * A key is dropped from the memo when it is put or evicted by the request,
+ * and the whole memo is dropped when the scope is closed.
+ * Effected only caches of which {@link EVCacheImpl#setRequestMemoized(boolean)} is enabled.
+ *
+ * <pre class="code">
+ * try (RequestMemo.Scope scope = RequestMemo.open()) {
+ *     // process the request
+ * }
+ * </pre>
+ *
+ * <p>Reads of other threads, such as asynchronous tasks of the request, are not memoized.
+ *
+ * @author Taeho Kim
+ */
+public final class RequestMemo {
+    private static final ThreadLocal<RequestMemo> CURRENT = new ThreadLocal<>();
+    private final Map<String, Map<String, CachedData>> caches;
+
+    private RequestMemo() {
+        this.caches = new HashMap<>();
+    }
+
+    /**
+     * Bind a memo to the current thread until the scope is closed, a nested scope shares the memo of the outer
+     *
+     * @return the scope to be closed at the end of the request
+     */
+    public static Scope open() {
+        if (CURRENT.get() != null) {
+            return () -> { };
+        }
+        CURRENT.set(new RequestMemo());
+        return CURRENT::remove;
+    }
+
+    /**
+     * @return whether a memo is bound to the current thread
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * @param cacheName the name of the cache
+     * @return memoized encoded values by the key, {@code null} when a memo is not bound to the current thread
+     */
+    static Map<String, CachedData> of(final String cacheName) {
+        final RequestMemo memo = CURRENT.get();
+        return memo == null ? null : memo.caches.computeIfAbsent(cacheName, name -> new HashMap<>());
+    }
+
+    /**
+     * Scope of a memo, closed without exception.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding expiration restarting the time to live on each access, by touching the key with the time to live
+ * it was written with, kept in {@link ExpiringValue} unless it is the default one.
+ * A remote read is touched with {@code getAndTouch} in the same round trip.
+ * Keys touched recently are kept locally, so that a hot key is touched at most once per the touch interval.
+ *
+ * @author Taeho Kim
+ */
+public class SlidingExpiration {
+    static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    private final Cache<String, Boolean> touched;
+
+    /**
+     * @param touchInterval the minimum interval between touches of a key
+     */
+    public SlidingExpiration(final Duration touchInterval) {
+        this(DEFAULT_MAXIMUM_SIZE, touchInterval, Ticker.systemTicker());
+    }
+
+    SlidingExpiration(final int maximumSize, final Duration touchInterval, final Ticker ticker) {
+        Assert.state(maximumSize > 0, "`maximumSize` must be positive value");
+        Assert.notNull(touchInterval, "`touchInterval` must not be null");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        this.touched = CacheBuilder.newBuilder()
+                                   .maximumSize(maximumSize)
+                                   .expireAfterWrite(touchInterval.toNanos(), TimeUnit.NANOSECONDS)
+                                   .ticker(ticker)
+                                   .build();
+    }
+
+    /**
+     * @param key the EVCache key being read
+     * @return whether the key is to be touched, at most once per the touch interval
+     */
+    public boolean shouldTouch(final String key) {
+        return touched.asMap().putIfAbsent(key, Boolean.TRUE) == null;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link EVCache} decorator deferring puts and evicts until the surrounding transaction commits,
+ * like {@link org.springframework.cache.transaction.TransactionAwareCacheDecorator}.
+ * Deferred operations are collected per transaction, so that a suspended transaction keeps its own,
+ * only the last one of a key is kept,
+ * and all of them are flushed at once by {@link EVCache#writeAll(Map, Collection)} after commit.
+ * Without a transaction, operations are performed immediately.
+ *
+ * <p>Reads, {@link #putIfAbsent(Object, Object)} and {@link #update(Object, UnaryOperator)} are performed
+ * immediately, and do not see the deferred operations.
+ *
+ * @author Taeho Kim
+ * @see EVCacheManager#setTransactionAware(boolean)
+ */
+public class TransactionAwareEVCacheDecorator implements EVCache {
+    private final EVCache targetCache;
+
+    /**
+     * @param targetCache the target cache to decorate
+     */
+    public TransactionAwareEVCacheDecorator(final EVCache targetCache) {
+        Assert.notNull(targetCache, "`targetCache` must not be null");
+        this.targetCache = targetCache;
+    }
+
+    public EVCache getTargetCache() {
+        return targetCache;
+    }
+
+    @Override
+    public String getName() {
+        return targetCache.getName();
+    }
+
+    @Override
+    public com.netflix.evcache.EVCache getNativeCache() {
+        return targetCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        return targetCache.get(key);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        return targetCache.get(key, type);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        return targetCache.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            deferred().put(key, new Operation(value, null, false));
+        } else {
+            targetCache.put(key, value);
+        }
+    }
+
+    @Override
+    public void put(final Object key, final Object value, final Duration timeToLive) {
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            deferred().put(key, new Operation(value, timeToLive, false));
+        } else {
+            targetCache.put(key, value, timeToLive);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        return targetCache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            deferred().put(key, new Operation(null, null, true));
+        } else {
+            targetCache.evict(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        targetCache.clear();
+    }
+
+    @Override
+    public <T> T update(final Object key, final UnaryOperator<T> updater) {
+        return targetCache.update(key, updater);
+    }
+
+    @Override
+    public void writeAll(final Map<?, ?> puts, final Collection<?> evicts) {
+        targetCache.writeAll(puts, evicts);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Operation> deferred() {
+        final Map<Object, Operation> existing =
+            (Map<Object, Operation>) TransactionSynchronizationManager.getResource(this);
+        if (existing != null) {
+            return existing;
+        }
+        final Map<Object, Operation> result = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, result);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(TransactionAwareEVCacheDecorator.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TransactionAwareEVCacheDecorator.this, result);
+            }
+
+            @Override
+            public void afterCommit() {
+                flush(result);
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TransactionAwareEVCacheDecorator.this);
+            }
+        });
+        return result;
+    }
+
+    private void flush(final Map<Object, Operation> operations) {
+        final Map<Object, Object> puts = new LinkedHashMap<>();
+        final List<Object> evicts = new ArrayList<>();
+        final Map<Object, Operation> expirables = new LinkedHashMap<>();
+        operations.forEach((key, operation) -> {
+            if (operation.evict) {
+                evicts.add(key);
+            } else if (operation.timeToLive == null) {
+                puts.put(key, operation.value);
+            } else {
+                expirables.put(key, operation);
+            }
+        });
+        targetCache.writeAll(puts, evicts);
+        expirables.forEach((key, operation) -> targetCache.put(key, operation.value, operation.timeToLive));
+    }
+
+    private static final class Operation {
+        private final Object value;
+        private final Duration timeToLive;
+        private final boolean evict;
+
+        private Operation(final Object value, final Duration timeToLive, final boolean evict) {
+            this.value = value;
+            this.timeToLive = timeToLive;
+            this.evict = evict;
+        }
+    }
+}
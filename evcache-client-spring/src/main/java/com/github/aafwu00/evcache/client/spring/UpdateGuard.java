@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retry policy of {@link EVCache#update(Object, java.util.function.UnaryOperator)}.
+ * An update holds {@code key#update}, taken by the first {@code incr} across processes, and an updater finding it
+ * held retries after an exponential backoff with full jitter. The update is deleted once its writes are completed,
+ * unless it may have expired meanwhile, then it is left to expire not to delete one taken by another updater.
+ * An update which may have expired before its write fails instead of writing over another updater.
+ * The EVCache client does not expose {@code gets}/{@code cas}, so only updates are excluded, not plain puts.
+ *
+ * <p>Metrics: {@code evcache.update.contentions} counts retries, {@code evcache.update.exhausted}
+ * counts updates given up and {@code evcache.update.expired} counts updates outliving the hold,
+ * tagged with the cache name.
+ *
+ * @author Taeho Kim
+ */
+public class UpdateGuard {
+    private static final String SUFFIX = "#update";
+    private static final int MAXIMUM_BACKOFF_SHIFT = 6;
+    private static final long EXPIRATION_GRANULARITY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private final int maximumAttempts;
+    private final long backoffNanos;
+    private final int lockTimeToLive;
+    private final Counter contentions;
+    private final Counter exhausted;
+    private final Counter expired;
+
+    /**
+     * @param name            the name of the cache, tagged to metrics
+     * @param maximumAttempts the maximum number of attempts to take the update
+     * @param backoff         the base of the backoff between attempts
+     * @param lockTimeToLive  the time to live of a taken update, longer than the updates
+     */
+    public UpdateGuard(final String name,
+                       final int maximumAttempts,
+                       final Duration backoff,
+                       final Duration lockTimeToLive) {
+        this(name, maximumAttempts, backoff, lockTimeToLive, Spectator.globalRegistry());
+    }
+
+    UpdateGuard(final String name,
+                final int maximumAttempts,
+                final Duration backoff,
+                final Duration lockTimeToLive,
+                final Registry registry) {
+        Assert.notNull(name, "`name` must not be null");
+        Assert.state(maximumAttempts > 0, "`maximumAttempts` must be positive value");
+        Assert.notNull(backoff, "`backoff` must not be null");
+        Assert.notNull(lockTimeToLive, "`lockTimeToLive` must not be null");
+        Assert.state(lockTimeToLive.getSeconds() > 0, "`lockTimeToLive` must be positive value");
+        Assert.notNull(registry, "`registry` must not be null");
+        this.maximumAttempts = maximumAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.lockTimeToLive = Math.toIntExact(lockTimeToLive.getSeconds());
+        this.contentions = registry.counter("evcache.update.contentions", "cache", name);
+        this.exhausted = registry.counter("evcache.update.exhausted", "cache", name);
+        this.expired = registry.counter("evcache.update.expired", "cache", name);
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return the key held while updating the key
+     */
+    public String lockKey(final String key) {
+        return key + SUFFIX;
+    }
+
+    /**
+     * @param incremented the result of {@code incr} of the lock key, starting from one
+     * @return whether the update is taken
+     */
+    public boolean isTaken(final long incremented) {
+        return incremented == 1;
+    }
+
+    /**
+     * Wait before the next attempt
+     *
+     * @param key     the cache key
+     * @param attempt the number of attempts failed, starting from one
+     * @throws EVCacheUpdateException when attempts are exhausted or interrupted
+     */
+    public void backoff(final Object key, final int attempt) {
+        contentions.increment();
+        if (attempt >= maximumAttempts) {
+            exhausted.increment();
+            throw new EVCacheUpdateException(key, attempt);
+        }
+        final long maximumNanos = backoffNanos << Math.min(attempt - 1, MAXIMUM_BACKOFF_SHIFT);
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(maximumNanos + 1));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EVCacheUpdateException(key, ex);
+        }
+    }
+
+    /**
+     * Check the update is surely held before its write
+     *
+     * @param key     the cache key
+     * @param takenAt the {@link System#nanoTime()} when the update was taken
+     * @throws EVCacheUpdateException when the update may have expired, and been taken by another updater
+     */
+    public void checkHeld(final Object key, final long takenAt) {
+        if (deadlineOf(takenAt) - System.nanoTime() <= 0) {
+            expired.increment();
+            throw new EVCacheUpdateException(key, Duration.ofSeconds(lockTimeToLive));
+        }
+    }
+
+    /**
+     * Wait for the writes of an update, while the update is surely held
+     *
+     * @param takenAt the {@link System#nanoTime()} when the update was taken
+     * @param writes  the writes of the update
+     * @return whether the writes are completed while the update is held, so that it is to be deleted
+     */
+    public boolean awaitWrites(final long takenAt, final Collection<Future<Boolean>> writes) {
+        final long deadline = deadlineOf(takenAt);
+        return writes.stream().allMatch(write -> isCompleted(write, deadline)) && deadline - System.nanoTime() > 0;
+    }
+
+    private long deadlineOf(final long takenAt) {
+        return takenAt + TimeUnit.SECONDS.toNanos(lockTimeToLive) - EXPIRATION_GRANULARITY_NANOS;
+    }
+
+    private boolean isCompleted(final Future<Boolean> write, final long deadline) {
+        try {
+            write.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (final ExecutionException ex) {
+            return true;
+        } catch (final TimeoutException ex) {
+            return false;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return the time to live of a taken update, seconds
+     */
+    public int getLockTimeToLive() {
+        return lockTimeToLive;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Transcoder} that wraps values of the given {@link Transcoder} in an envelope recording the schema version.
+ *
+ * <p>Entries written with an older version are read by the registered {@link Upgrader}. Entries without an upgrader,
+ * written without envelope or by a newer version are tried with the delegate, and become a miss if that fails,
+ * so that old and new application versions can share the cache during a rolling deploy.
+ *
+ * @author Taeho Kim
+ */
+public class VersionedValueTranscoder implements Transcoder<Object> {
+    /**
+     * Memcached flags of the envelope, inside the special type range(0xff00) of
+     * {@link net.spy.memcached.transcoders.SerializingTranscoder}
+     */
+    public static final int VERSIONED_FLAGS = 0x7d << 8;
+    /**
+     * Version of entries written without envelope
+     */
+    public static final int UNVERSIONED = 0;
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionedValueTranscoder.class);
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private final Transcoder<Object> delegate;
+    private final int version;
+    private final Map<Integer, Upgrader> upgraders;
+
+    /**
+     * @param delegate the transcoder of the current schema version
+     * @param version  the current schema version, must be positive
+     */
+    public VersionedValueTranscoder(final Transcoder<Object> delegate, final int version) {
+        Assert.notNull(delegate, "`delegate` must not be null");
+        Assert.state(version > UNVERSIONED, "`version` must be positive value");
+        this.delegate = delegate;
+        this.version = version;
+        this.upgraders = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register the upgrader for entries written with the given version.
+     *
+     * @param from     the version of entries, {@link #UNVERSIONED} for entries written without envelope
+     * @param upgrader converts an entry of the given version to a value of the current version
+     * @return this transcoder
+     */
+    public VersionedValueTranscoder addUpgrader(final int from, final Upgrader upgrader) {
+        Assert.state(from >= UNVERSIONED && from < version, "`from` must be less than current version");
+        Assert.notNull(upgrader, "`upgrader` must not be null");
+        upgraders.put(from, upgrader);
+        return this;
+    }
+
+    @Override
+    public boolean asyncDecode(final CachedData data) {
+        return delegate.asyncDecode(data);
+    }
+
+    @Override
+    public CachedData encode(final Object value) {
+        final CachedData data = delegate.encode(value);
+        final byte[] payload = data.getData();
+        final byte[] envelope = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                                          .putInt(version)
+                                          .putInt(data.getFlags())
+                                          .put(payload)
+                                          .array();
+        return new CachedData(VERSIONED_FLAGS, envelope, getMaxSize());
+    }
+
+    @Override
+    public Object decode(final CachedData data) {
+        if (data.getFlags() != VERSIONED_FLAGS) {
+            return decode(UNVERSIONED, data);
+        }
+        final byte[] envelope = data.getData();
+        if (envelope.length < HEADER_SIZE) {
+            return null;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(envelope);
+        final int entryVersion = buffer.getInt();
+        final int flags = buffer.getInt();
+        final byte[] payload = Arrays.copyOfRange(envelope, HEADER_SIZE, envelope.length);
+        return decode(entryVersion, new CachedData(flags, payload, getMaxSize()));
+    }
+
+    private Object decode(final int entryVersion, final CachedData data) {
+        final Upgrader upgrader = upgraders.get(entryVersion);
+        try {
+            if (entryVersion != version && upgrader != null) {
+                return upgrader.upgrade(data);
+            }
+            return delegate.decode(data);
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Can not decode value of version {}, current version is {}", entryVersion, version, ex);
+            return null;
+        }
+    }
+
+    @Override
+    public int getMaxSize() {
+        return delegate.getMaxSize();
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Converts an entry written by a previous schema version.
+     */
+    @FunctionalInterface
+    public interface Upgrader {
+        /**
+         * @param data the flags and payload written by the previous version's transcoder
+         * @return value of the current version, {@code null} is treated as a miss
+         */
+        Object upgrade(CachedData data);
+    }
+}
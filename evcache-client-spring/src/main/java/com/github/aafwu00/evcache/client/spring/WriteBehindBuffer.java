@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import com.netflix.spectator.api.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded buffer of writes flushed behind the callers, coalescing repeated writes of the same key
+ * so that only the last value is written. Writes are flushed in batches of the batch size,
+ * as soon as a batch is filled and at least every flush interval, and all of them on close.
+ * A caller finding the buffer full flushes a batch by itself, which slows down the callers to the flush rate.
+ *
+ * <p>A value is kept in the buffer until written, so that it is read while pending and in flight.
+ * A value failed to be written is logged and dropped.
+ *
+ * <p>Metrics: {@code evcache.writeBehind.offered}, {@code evcache.writeBehind.coalesced} and
+ * {@code evcache.writeBehind.flushLatency} of a batch, tagged with the cache name.
+ *
+ * @author Taeho Kim
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class WriteBehindBuffer implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindBuffer.class);
+    private final int capacity;
+    private final int batchSize;
+    private final Map<String, Pending> pending;
+    private final Lock flushLock;
+    private final Object lock = new Object();
+    private final ScheduledExecutorService flusher;
+    private final Counter offered;
+    private final Counter coalesced;
+    private final Timer flushLatency;
+    private Writer writer;
+    private boolean flushScheduled;
+
+    /**
+     * @param name          the name of the cache, tagged to metrics
+     * @param capacity      the maximum number of pending keys
+     * @param batchSize     the number of keys flushed at once
+     * @param flushInterval the maximum interval between flushes
+     */
+    public WriteBehindBuffer(final String name, final int capacity, final int batchSize, final Duration flushInterval) {
+        this(name,
+             capacity,
+             batchSize,
+             Executors.newSingleThreadScheduledExecutor(daemonThreadFactory()),
+             Spectator.globalRegistry());
+        Assert.notNull(flushInterval, "`flushInterval` must not be null");
+        flusher.scheduleWithFixedDelay(this::flush,
+                                       flushInterval.toNanos(),
+                                       flushInterval.toNanos(),
+                                       TimeUnit.NANOSECONDS);
+    }
+
+    WriteBehindBuffer(final String name,
+                      final int capacity,
+                      final int batchSize,
+                      final ScheduledExecutorService flusher,
+                      final Registry registry) {
+        Assert.notNull(name, "`name` must not be null");
+        Assert.state(capacity > 0, "`capacity` must be positive value");
+        Assert.state(batchSize > 0, "`batchSize` must be positive value");
+        Assert.notNull(flusher, "`flusher` must not be null");
+        Assert.notNull(registry, "`registry` must not be null");
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.pending = new LinkedHashMap<>();
+        this.flushLock = new ReentrantLock();
+        this.flusher = flusher;
+        this.offered = registry.counter("evcache.writeBehind.offered", "cache", name);
+        this.coalesced = registry.counter("evcache.writeBehind.coalesced", "cache", name);
+        this.flushLatency = registry.timer("evcache.writeBehind.flushLatency", "cache", name);
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        final CustomizableThreadFactory result = new CustomizableThreadFactory("evcache-write-behind-");
+        result.setDaemon(true);
+        return result;
+    }
+
+    /**
+     * @param writer the writer of flushed values to the remote cluster
+     */
+    public void attach(final Writer writer) {
+        Assert.notNull(writer, "`writer` must not be null");
+        synchronized (lock) {
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * @param key        the EVCache key
+     * @param value      the value to be stored, not {@code null}
+     * @param timeToLive the time to live, seconds
+     */
+    public void offer(final String key, final Object value, final int timeToLive) {
+        Assert.notNull(value, "`value` must not be null");
+        offered.increment();
+        if (flusher.isShutdown()) {
+            writer().write(key, value, timeToLive);
+            return;
+        }
+        while (!tryOffer(key, new Pending(value, timeToLive))) {
+            flushBatch();
+        }
+    }
+
+    private boolean tryOffer(final String key, final Pending write) {
+        synchronized (lock) {
+            if (pending.containsKey(key)) {
+                coalesced.increment();
+                pending.put(key, write);
+                return true;
+            }
+            if (pending.size() >= capacity) {
+                return false;
+            }
+            pending.put(key, write);
+            if (pending.size() >= batchSize && !flushScheduled && !flusher.isShutdown()) {
+                flushScheduled = true;
+                flusher.execute(this::flush);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @param key the EVCache key
+     * @return the value pending or in flight, {@code null} when absent
+     */
+    public Object pending(final String key) {
+        synchronized (lock) {
+            final Pending result = pending.get(key);
+            return result == null ? null : result.value;
+        }
+    }
+
+    /**
+     * Drop the pending value of the key, waiting for the value in flight
+     *
+     * @param key the EVCache key
+     */
+    public void discard(final String key) {
+        flushLock.lock();
+        try {
+            synchronized (lock) {
+                pending.remove(key);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write the pending value of the key now
+     *
+     * @param key the EVCache key
+     */
+    public void flush(final String key) {
+        flushLock.lock();
+        try {
+            final Pending write;
+            synchronized (lock) {
+                write = pending.get(key);
+            }
+            if (write != null) {
+                write(key, write);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write all pending values
+     */
+    public void flush() {
+        synchronized (lock) {
+            flushScheduled = false;
+        }
+        boolean flushed = true;
+        while (flushed) {
+            flushed = flushBatch();
+        }
+    }
+
+    private boolean flushBatch() {
+        flushLock.lock();
+        try {
+            final List<Map.Entry<String, Pending>> batch = new ArrayList<>(batchSize);
+            synchronized (lock) {
+                for (final Map.Entry<String, Pending> entry : pending.entrySet()) {
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                    batch.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+                }
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+            final long start = System.nanoTime();
+            batch.forEach(entry -> write(entry.getKey(), entry.getValue()));
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(final String key, final Pending write) {
+        try {
+            writer().write(key, write.value, write.timeToLive);
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Can not write behind key: {}", key, ex);
+        }
+        synchronized (lock) {
+            pending.remove(key, write);
+        }
+    }
+
+    private Writer writer() {
+        synchronized (lock) {
+            Assert.state(writer != null, "`writer` must be attached");
+            return writer;
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+
+    /**
+     * Writer of a value to the remote cluster
+     */
+    @FunctionalInterface
+    public interface Writer {
+        /**
+         * @param key        the EVCache key
+         * @param value      the value to be stored
+         * @param timeToLive the time to live, seconds
+         */
+        void write(String key, Object value, int timeToLive);
+    }
+
+    private static final class Pending {
+        private final Object value;
+        private final int timeToLive;
+
+        private Pending(final Object value, final int timeToLive) {
+            this.value = value;
+            this.timeToLive = timeToLive;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Acknowledgement of writes by the native latch policy. A write waits until acknowledged by the server groups
+ * required by {@link Policy#ONE}, {@link Policy#QUORUM}, {@link Policy#ALL_MINUS_1} or {@link Policy#ALL},
+ * up to the timeout. With {@link Policy#NONE} a write does not wait at all, and is checked in background
+ * only to be counted. A write without a latch was not issued, which is not acknowledged but by {@link Policy#NONE}.
+ *
+ * <p>Metrics: {@code evcache.write.failures} counts writes not acknowledged in time, or failed server groups of
+ * fire and forget writes, and
+ * {@code evcache.write.unchecked} counts fire and forget writes dropped from the background check,
+ * tagged with the cache name.
+ *
+ * @author Taeho Kim
+ */
+public class WritePolicy {
+    private static final int MAXIMUM_UNCHECKED = 10_000;
+    private final Policy policy;
+    private final long timeoutNanos;
+    private final Executor checker;
+    private final Counter failures;
+    private final Counter unchecked;
+
+    /**
+     * @param name    the name of the cache, tagged to metrics
+     * @param policy  the native latch policy
+     * @param timeout the maximum time to wait for the acknowledgement
+     */
+    public WritePolicy(final String name, final Policy policy, final Duration timeout) {
+        this(name, policy, timeout, checker(), Spectator.globalRegistry());
+    }
+
+    WritePolicy(final String name,
+                final Policy policy,
+                final Duration timeout,
+                final Executor checker,
+                final Registry registry) {
+        Assert.notNull(name, "`name` must not be null");
+        Assert.notNull(policy, "`policy` must not be null");
+        Assert.notNull(timeout, "`timeout` must not be null");
+        Assert.notNull(checker, "`checker` must not be null");
+        Assert.notNull(registry, "`registry` must not be null");
+        this.policy = policy;
+        this.timeoutNanos = timeout.toNanos();
+        this.checker = checker;
+        this.failures = registry.counter("evcache.write.failures", "cache", name);
+        this.unchecked = registry.counter("evcache.write.unchecked", "cache", name);
+    }
+
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    private static Executor checker() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("evcache-write-checker-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(1,
+                                      1,
+                                      0,
+                                      TimeUnit.MILLISECONDS,
+                                      new ArrayBlockingQueue<>(MAXIMUM_UNCHECKED),
+                                      threadFactory);
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @param latch the latch of a write, {@code null} when the write was not issued
+     * @return whether the write is acknowledged by the policy, always {@code true} for {@link Policy#NONE}
+     */
+    public boolean acknowledge(final EVCacheLatch latch) {
+        if (latch == null) {
+            if (policy == Policy.NONE) {
+                return true;
+            }
+            failures.increment();
+            return false;
+        }
+        if (policy == Policy.NONE) {
+            try {
+                checker.execute(() -> check(latch));
+            } catch (final RejectedExecutionException ex) {
+                unchecked.increment();
+            }
+            return true;
+        }
+        try {
+            if (latch.await(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        failures.increment();
+        return false;
+    }
+
+    /**
+     * The latch of {@link Policy#NONE} expects no acknowledgement, so that the writes are checked one by one
+     */
+    private void check(final EVCacheLatch latch) {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        for (final Future<Boolean> future : latch.getAllFutures()) {
+            try {
+                if (!Boolean.TRUE.equals(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))) {
+                    failures.increment();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException | TimeoutException ex) {
+                failures.increment();
+            }
+        }
+    }
+
+    /**
+     * Stop the background check of fire and forget writes
+     */
+    public void close() {
+        if (checker instanceof ExecutorService) {
+            ((ExecutorService) checker).shutdown();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps digests of recently written values per key, to skip writing a byte-identical value with the same
+ * time to live again while the previous one is still within the first half of that time to live.
+ *
+ * <p>Only values written by this process are known, careful when other processes write the same keys.
+ *
+ * @author Taeho Kim
+ */
+public class WriteSuppressor {
+    private final Cache<String, Written> digests;
+    private final long windowNanos;
+    private final Ticker ticker;
+
+    /**
+     * @param maximumSize the maximum number of keys to be tracked
+     * @param timeToLive  the default time to live of written values, half of it is the longest suppression
+     */
+    public WriteSuppressor(final int maximumSize, final Duration timeToLive) {
+        this(maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    WriteSuppressor(final int maximumSize, final Duration timeToLive, final Ticker ticker) {
+        Assert.state(maximumSize > 0, "`maximumSize` must be positive value");
+        Assert.notNull(timeToLive, "`timeToLive` must not be null");
+        Assert.notNull(ticker, "`ticker` must not be null");
+        this.windowNanos = timeToLive.toNanos() / 2;
+        this.ticker = ticker;
+        this.digests = CacheBuilder.newBuilder()
+                                   .maximumSize(maximumSize)
+                                   .expireAfterWrite(windowNanos, TimeUnit.NANOSECONDS)
+                                   .ticker(ticker)
+                                   .build();
+    }
+
+    /**
+     * @param ttl the effective time to live in seconds of the value to be written
+     * @return whether the same value has been written recently with the same time to live
+     */
+    public boolean isDuplicated(final String key, final byte[] data, final int ttl) {
+        final Written written = digests.getIfPresent(key);
+        return written != null
+               && written.digest == digest(data)
+               && written.timeToLive == ttl
+               && ticker.read() - written.writtenAt < windowOf(ttl);
+    }
+
+    /**
+     * @param ttl the effective time to live in seconds of the written value
+     */
+    public void written(final String key, final byte[] data, final int ttl) {
+        digests.put(key, new Written(digest(data), ttl, ticker.read()));
+    }
+
+    public void invalidate(final String key) {
+        digests.invalidate(key);
+    }
+
+    private long windowOf(final int ttl) {
+        return ttl > 0 ? Math.min(TimeUnit.SECONDS.toNanos(ttl) / 2, windowNanos) : windowNanos;
+    }
+
+    private long digest(final byte[] data) {
+        return Hashing.murmur3_128().hashBytes(data).asLong();
+    }
+
+    private static final class Written {
+        private final long digest;
+        private final int timeToLive;
+        private final long writtenAt;
+
+        private Written(final long digest, final int timeToLive, final long writtenAt) {
+            this.digest = digest;
+            this.timeToLive = timeToLive;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
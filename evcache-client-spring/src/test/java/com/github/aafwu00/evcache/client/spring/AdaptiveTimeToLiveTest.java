@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Taeho Kim
+ */
+class AdaptiveTimeToLiveTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private Ticker ticker;
+    private AdaptiveTimeToLive adaptiveTimeToLive;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        adaptiveTimeToLive = new AdaptiveTimeToLive(10,
+                                                    Duration.ofSeconds(10),
+                                                    Duration.ofSeconds(1000),
+                                                    0,
+                                                    ticker,
+                                                    () -> 1);
+    }
+
+    private int write(final String key, final int value) {
+        return adaptiveTimeToLive.timeToLive("type", key, new byte[]{(byte) value}, 500);
+    }
+
+    private void elapse(final int seconds) {
+        nanos.addAndGet(Duration.ofSeconds(seconds).toNanos());
+    }
+
+    @Test
+    void should_be_fallback_when_class_is_not_observed() {
+        assertThat(write("key", 1)).isEqualTo(500);
+    }
+
+    @Test
+    void should_be_interval_of_changes_when_value_is_changed() {
+        write("key", 1);
+        elapse(100);
+        assertThat(write("key", 2)).isEqualTo(100);
+        assertThat(adaptiveTimeToLive.timeToLive("other", "key2", new byte[]{1}, 500)).isEqualTo(500);
+    }
+
+    @Test
+    void should_be_averaged_when_value_is_changed_again() {
+        write("key", 1);
+        elapse(100);
+        write("key", 2);
+        elapse(200);
+        assertThat(write("key", 3)).isEqualTo(120);
+    }
+
+    @Test
+    void should_be_raised_when_value_is_unchanged_for_longer() {
+        write("key", 1);
+        elapse(100);
+        write("key", 2);
+        elapse(50);
+        assertThat(write("key", 2)).isEqualTo(100);
+        elapse(250);
+        assertThat(write("key", 2)).isEqualTo(140);
+    }
+
+    @Test
+    void should_be_clamped_within_bounds() {
+        write("key", 1);
+        elapse(1);
+        assertThat(write("key", 2)).isEqualTo(10);
+        write("other", 1);
+        elapse(100_000);
+        write("other", 1);
+        assertThat(write("other", 2)).isEqualTo(1000);
+    }
+
+    @Test
+    void should_be_shortened_by_jitter() {
+        final AdaptiveTimeToLive jittered = new AdaptiveTimeToLive(10,
+                                                                   Duration.ofSeconds(10),
+                                                                   Duration.ofSeconds(1000),
+                                                                   0.2,
+                                                                   ticker,
+                                                                   () -> 0.5);
+        assertThat(jittered.timeToLive("type", "key", new byte[]{1}, 500)).isEqualTo(450);
+    }
+
+    @Test
+    void should_be_thrown_IllegalStateException_when_maximum_is_longer_than_30_days() {
+        assertThatThrownBy(() -> new AdaptiveTimeToLive(10, Duration.ofSeconds(1), Duration.ofDays(31), 0))
+            .isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_be_thrown_IllegalStateException_when_maximum_is_less_than_minimum() {
+        assertThatThrownBy(() -> new AdaptiveTimeToLive(10, Duration.ofSeconds(10), Duration.ofSeconds(1), 0))
+            .isExactlyInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+@SuppressWarnings("unchecked")
+class CachePrimerTest {
+    private EVCache cache;
+    private Registry registry;
+    private CachePrimer primer;
+    private List<PrimingProgress> reports;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(EVCache.class);
+        registry = new DefaultRegistry();
+        primer = new CachePrimer(4, Duration.ofSeconds(1), Duration.ofDays(1), Ticker.systemTicker(), registry);
+        reports = new ArrayList<>();
+        doReturn("name").when(cache).getName();
+    }
+
+    private Stream<Map.Entry<Integer, Integer>> entries(final int size) {
+        return IntStream.range(0, size).mapToObj(index -> new AbstractMap.SimpleImmutableEntry<>(index, index));
+    }
+
+    @Test
+    void should_be_written_all_entries_when_prime() {
+        final PrimingProgress result = primer.prime(cache, entries(100), reports::add);
+        verify(cache, times(100)).put(any(), any());
+        assertThat(result.getWritten()).isEqualTo(100);
+        assertThat(result.getFailed()).isZero();
+        assertThat(reports).containsExactly(result);
+        assertThat(registry.counter("evcache.prime.written", "cache", "name").count()).isEqualTo(100);
+    }
+
+    @Test
+    void should_be_bounded_in_flight_writes() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maximum = new AtomicInteger();
+        doAnswer(invocation -> {
+            maximum.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(1);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(cache).put(any(), any());
+        primer.prime(cache, entries(200), reports::add);
+        assertThat(maximum.get()).isBetween(1, 4);
+    }
+
+    @Test
+    void should_be_counted_failure_and_continued_when_write_failed() {
+        doThrow(EVCachePutException.class).when(cache).put(eq(1), any());
+        final PrimingProgress result = primer.prime(cache, entries(10), reports::add);
+        assertThat(result.getWritten()).isEqualTo(9);
+        assertThat(result.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_measured_latency_until_write_is_completed() throws Exception {
+        final com.netflix.evcache.EVCache source = mock(com.netflix.evcache.EVCache.class);
+        final AtomicLong nanos = new AtomicLong();
+        final Future<Boolean> future = mock(Future.class);
+        doAnswer(invocation -> {
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            return true;
+        }).when(future).get();
+        doReturn(new Future[]{future}).when(source).set("0", 0);
+        primer = new CachePrimer(4, Duration.ofSeconds(1), Duration.ofDays(1), new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        }, registry);
+        final PrimingProgress result = primer.prime(new EVCacheImpl("name", source, true, 10, false),
+                                                    entries(1),
+                                                    reports::add);
+        assertThat(result.getWritten()).isEqualTo(1);
+        assertThat(registry.timer("evcache.prime.latency", "cache", "name").totalTime())
+            .isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void should_be_counted_failure_when_write_is_not_completed() throws Exception {
+        final com.netflix.evcache.EVCache source = mock(com.netflix.evcache.EVCache.class);
+        doReturn(new Future[]{CompletableFuture.completedFuture(false)}).when(source).set("0", 0);
+        final PrimingProgress result = primer.prime(new EVCacheImpl("name", source, true, 10, false),
+                                                    entries(2),
+                                                    reports::add);
+        assertThat(result.getWritten()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_reported_progress_every_interval() {
+        primer = new CachePrimer(4, Duration.ofSeconds(1), Duration.ZERO, Ticker.systemTicker(), registry);
+        primer.prime(cache, entries(10), reports::add);
+        assertThat(reports).hasSize(11);
+    }
+
+    @Test
+    void should_be_increased_additively_when_latency_is_within_target() throws InterruptedException {
+        final CachePrimer.Window window = new CachePrimer.Window(4, 10);
+        for (int round = 0; round < 10; round++) {
+            window.acquire();
+            window.release(10, true);
+        }
+        assertThat(window.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void should_be_decreased_by_half_when_latency_is_over_target() throws InterruptedException {
+        final CachePrimer.Window window = new CachePrimer.Window(8, 10);
+        for (int round = 0; round < 100; round++) {
+            window.acquire();
+            window.release(10, true);
+        }
+        assertThat(window.limit()).isEqualTo(8);
+        window.acquire();
+        window.release(11, true);
+        assertThat(window.limit()).isEqualTo(4);
+        window.acquire();
+        window.release(11, false);
+        assertThat(window.limit()).isEqualTo(4);
+        assertThat(window.inFlight()).isZero();
+    }
+
+    @Test
+    void should_be_throughput_of_written_per_second() {
+        assertThat(new PrimingProgress(10, 1, Duration.ofSeconds(2), 1).getThroughput()).isEqualTo(5);
+        assertThat(new PrimingProgress(10, 1, Duration.ZERO, 1).getThroughput()).isZero();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import net.spy.memcached.CachedData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class CoAccessPrefetcherTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private Registry registry;
+    private List<String> loaded;
+    private CoAccessPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        registry = new DefaultRegistry();
+        loaded = new ArrayList<>();
+        prefetcher = new CoAccessPrefetcher("name",
+                                            100,
+                                            Duration.ofMillis(100),
+                                            0.5,
+                                            Duration.ofSeconds(1),
+                                            Runnable::run,
+                                            ticker,
+                                            registry);
+        prefetcher.attach(keys -> {
+            final Map<String, CachedData> result = new LinkedHashMap<>();
+            for (final String key : keys) {
+                loaded.add(key);
+                result.put(key, new CachedData(0, new byte[]{1, 2, 3}, CachedData.MAX_SIZE));
+            }
+            return result;
+        });
+    }
+
+    private void elapse(final Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private long count(final String name) {
+        return registry.counter(name, "cache", "name").count();
+    }
+
+    private void train(final boolean withinWindow) {
+        for (int round = 0; round < 3; round++) {
+            prefetcher.read("user:1");
+            if (!withinWindow) {
+                elapse(Duration.ofMillis(200));
+            }
+            prefetcher.read("prefs:1");
+            elapse(Duration.ofMillis(200));
+        }
+    }
+
+    @Test
+    void should_be_prefetched_follower_when_read_leading_key() {
+        train(true);
+        assertThat(prefetcher.read("user:1")).isNull();
+        assertThat(loaded).containsExactly("prefs:1");
+        assertThat(prefetcher.read("prefs:1")).isNotNull();
+        assertThat(prefetcher.read("prefs:1")).isNull();
+        assertThat(count("evcache.prefetch.issued")).isEqualTo(1);
+        assertThat(count("evcache.prefetch.hits")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_not_learned_when_read_after_window() {
+        train(false);
+        prefetcher.read("user:1");
+        assertThat(loaded).isEmpty();
+    }
+
+    @Test
+    void should_be_dropped_prefetched_value_when_invalidated() {
+        train(true);
+        prefetcher.read("user:1");
+        prefetcher.invalidate("prefs:1");
+        assertThat(prefetcher.read("prefs:1")).isNull();
+        assertThat(count("evcache.prefetch.wasted")).isZero();
+    }
+
+    @Test
+    void should_be_counted_wasted_when_expired_without_read() {
+        train(true);
+        prefetcher.read("user:1");
+        elapse(Duration.ofSeconds(2));
+        assertThat(prefetcher.read("prefs:1")).isNull();
+        assertThat(count("evcache.prefetch.wasted")).isEqualTo(1);
+        assertThat(count("evcache.prefetch.wastedBytes")).isEqualTo(3);
+    }
+
+    @Test
+    void should_be_shutdown_prefetcher_and_not_prefetched_when_closed() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CoAccessPrefetcher closed = new CoAccessPrefetcher("name",
+                                                                 100,
+                                                                 Duration.ofMillis(100),
+                                                                 0.5,
+                                                                 Duration.ofSeconds(1),
+                                                                 executor,
+                                                                 Ticker.systemTicker(),
+                                                                 registry);
+        closed.attach(keys -> {
+            loaded.addAll(keys);
+            return new LinkedHashMap<>();
+        });
+        closed.close();
+        assertThat(executor.isShutdown()).isTrue();
+        for (int round = 0; round < 5; round++) {
+            closed.read("user:1");
+            closed.read("prefs:1");
+        }
+        assertThat(loaded).isEmpty();
+        assertThat(count("evcache.prefetch.issued")).isZero();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class CuckooFilterTest {
+    @Test
+    void should_be_contained_when_put() {
+        final CuckooFilter filter = new CuckooFilter(100);
+        assertThat(filter.put("key")).isTrue();
+        assertThat(filter.mightContain("key")).isTrue();
+        assertThat(filter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_not_contained_when_removed() {
+        final CuckooFilter filter = new CuckooFilter(100);
+        filter.put("key");
+        filter.remove("key");
+        assertThat(filter.mightContain("key")).isFalse();
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    void should_be_not_increased_size_when_put_same_key() {
+        final CuckooFilter filter = new CuckooFilter(100);
+        filter.put("key");
+        filter.put("key");
+        assertThat(filter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_false_when_full() {
+        final CuckooFilter filter = new CuckooFilter(100);
+        IntStream.range(0, 100).forEach(index -> filter.put("key" + index));
+        assertThat(filter.put("other")).isFalse();
+        assertThat(IntStream.range(0, 100).allMatch(index -> filter.mightContain("key" + index))).isTrue();
+    }
+
+    @Test
+    void should_be_rarely_false_positive() {
+        final CuckooFilter filter = new CuckooFilter(1000);
+        IntStream.range(0, 1000).forEach(index -> filter.put("key" + index));
+        final long falsePositives = IntStream.range(0, 10000)
+                                             .filter(index -> filter.mightContain("other" + index))
+                                             .count();
+        assertThat(falsePositives).isLessThan(100);
+    }
+}
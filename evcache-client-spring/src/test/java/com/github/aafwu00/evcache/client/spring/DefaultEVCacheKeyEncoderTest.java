@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Taeho Kim
+ */
+class DefaultEVCacheKeyEncoderTest {
+    private final DefaultEVCacheKeyEncoder encoder = new DefaultEVCacheKeyEncoder(false);
+    private final DefaultEVCacheKeyEncoder deleteWhitespaceEncoder = new DefaultEVCacheKeyEncoder(true);
+
+    @Test
+    void should_be_same_instance_when_string_key_has_no_whitespace() {
+        final String key = "key";
+        assertThat(encoder.encode(key)).isSameAs(key);
+    }
+
+    @Test
+    void should_be_same_as_toString_when_key_is_number_or_uuid() {
+        final UUID uuid = UUID.randomUUID();
+        assertThat(encoder.encode(1)).isEqualTo("1");
+        assertThat(encoder.encode(-10L)).isEqualTo("-10");
+        assertThat(encoder.encode(uuid)).isEqualTo(uuid.toString());
+    }
+
+    @Test
+    void should_be_compatible_with_deleted_whitespace_toString_when_key_is_SimpleKey() {
+        final SimpleKey key = new SimpleKey("a b", 1, null);
+        assertThat(deleteWhitespaceEncoder.encode(key)).isEqualTo(StringUtils.deleteWhitespace(key.toString()))
+                                                      .isEqualTo("SimpleKey[ab,1,null]");
+        assertThat(encoder.encode(new SimpleKey("a", 1))).isEqualTo("SimpleKey[a,1]");
+        assertThat(encoder.encode(SimpleKey.EMPTY)).isEqualTo("SimpleKey[]");
+    }
+
+    @Test
+    void should_be_thrown_exception_when_SimpleKey_element_contains_whitespace() {
+        assertThatThrownBy(() -> encoder.encode(new SimpleKey("a b", 1)))
+            .isExactlyInstanceOf(EVCacheInvalidKeyException.class)
+            .hasMessage("Key must not be contain whitespace");
+    }
+
+    @Test
+    void should_be_deleted_whitespace() {
+        assertThat(deleteWhitespaceEncoder.encode(" a\tb ")).isEqualTo("ab");
+        assertThatThrownBy(() -> deleteWhitespaceEncoder.encode("  "))
+            .isExactlyInstanceOf(EVCacheInvalidKeyException.class)
+            .hasMessage("Deleted whitespace key is empty");
+    }
+
+    @Test
+    void should_be_thrown_exception_when_key_is_null_or_empty() {
+        assertThatThrownBy(() -> encoder.encode(null)).isExactlyInstanceOf(EVCacheInvalidKeyException.class)
+                                                      .hasMessage("Key must not be null");
+        assertThatThrownBy(() -> encoder.encode("")).isExactlyInstanceOf(EVCacheInvalidKeyException.class)
+                                                    .hasMessage("Key must not be empty");
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Taeho Kim
@@ -51,4 +52,27 @@ class EVCacheConfigurationTest {
         assertThat(config.hashCode()).isNotEqualTo(create("TEST1", "TEST1", "test1", 1).hashCode());
         assertThat(config.hashCode()).isNotEqualTo(create("TEST1", "TEST", "test", 1).hashCode());
     }
+
+    @Test
+    void should_be_thrown_exception_when_time_to_live_is_longer_than_30_days() {
+        assertThat(create("TEST", "TEST", "test", 2_592_000).getTimeToLive())
+            .isEqualTo(Duration.ofDays(30));
+        assertThatThrownBy(() -> create("TEST", "TEST", "test", 2_592_001)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_be_thrown_exception_when_negative_time_to_live_is_longer_than_30_days() {
+        final EVCacheConfiguration config = create("TEST", "TEST", "test", 1);
+        config.setNegativeTimeToLive(Duration.ofDays(30));
+        assertThatThrownBy(() -> config.setNegativeTimeToLive(Duration.ofDays(30).plusSeconds(1)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_be_thrown_exception_when_adaptive_time_to_live_maximum_is_longer_than_30_days() {
+        final EVCacheConfiguration config = create("TEST", "TEST", "test", 1);
+        config.setAdaptiveTimeToLiveMaximum(Duration.ofDays(30));
+        assertThatThrownBy(() -> config.setAdaptiveTimeToLiveMaximum(Duration.ofDays(30).plusSeconds(1)))
+            .isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -16,25 +16,52 @@
 
 package com.github.aafwu00.evcache.client.spring;
 
+import com.google.common.base.Ticker;
 import com.netflix.evcache.EVCacheException;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheTranscoder;
+import com.netflix.spectator.api.DefaultRegistry;
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.internal.stubbing.answers.AnswersWithDelay;
 import org.mockito.internal.stubbing.answers.Returns;
 import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
 import org.springframework.util.StopWatch;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.time.Duration.ofMillis;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -239,4 +266,548 @@ class EVCacheImplTest {
         assertThat(cache.lookup("  a b ")).isEqualTo(1);
         verify(source, times(4)).get("ab");
     }
+
+    @Test
+    void should_be_skipped_set_when_value_is_same_as_recently_written() throws EVCacheException {
+        cache.setWriteSuppressor(new WriteSuppressor(10, Duration.ofSeconds(100)), false);
+        cache.put(1, 2);
+        cache.put(1, 2);
+        cache.put(1, 3);
+        verify(source, times(2)).set(eq("1"), any(CachedData.class), any(Transcoder.class), eq(900));
+        verify(source, never()).touch(any(), anyInt());
+    }
+
+    @Test
+    void should_be_touched_when_write_is_suppressed_with_touch() throws EVCacheException {
+        cache.setTimeToLive(100);
+        cache.setWriteSuppressor(new WriteSuppressor(10, Duration.ofSeconds(100)), true);
+        cache.put(1, 2);
+        cache.put(1, 2);
+        verify(source, times(1)).set(eq("1"), any(CachedData.class), any(Transcoder.class), eq(100));
+        verify(source).touch("1", 100);
+    }
+
+    @Test
+    void should_be_set_again_when_evicted_with_write_suppression() throws EVCacheException {
+        cache.setWriteSuppressor(new WriteSuppressor(10, Duration.ofSeconds(100)), false);
+        cache.put(1, 2);
+        cache.evict(1);
+        cache.put(1, 2);
+        verify(source, times(2)).set(eq("1"), any(CachedData.class), any(Transcoder.class), eq(900));
+    }
+
+    @Test
+    void should_be_not_get_from_remote_when_local_tier_hit() throws EVCacheException {
+        cache.setTranscoder(new SerializingTranscoder());
+        cache.addLocalTier(new OffHeapNearCache(1024 * 1024, Duration.ofSeconds(10)));
+        cache.put(1, 2);
+        assertThat(cache.lookup(1)).isEqualTo(2);
+        verify(source).set(eq("1"), any(CachedData.class), any(Transcoder.class), eq(900));
+        verify(source, never()).get(any(String.class), any(Transcoder.class));
+    }
+
+    @Test
+    void should_be_stored_in_local_tier_when_remote_hit() throws EVCacheException {
+        final SerializingTranscoder transcoder = new SerializingTranscoder();
+        cache.setTranscoder(transcoder);
+        cache.addLocalTier(new OffHeapNearCache(1024 * 1024, Duration.ofSeconds(10)));
+        doReturn(transcoder.encode(2)).when(source).get(eq("1"), any(Transcoder.class));
+        assertThat(cache.lookup(1)).isEqualTo(2);
+        assertThat(cache.lookup(1)).isEqualTo(2);
+        verify(source, times(1)).get(eq("1"), any(Transcoder.class));
+    }
+
+    @Test
+    void should_be_invalidated_local_tier_when_evict() throws EVCacheException {
+        cache.setTranscoder(new SerializingTranscoder());
+        cache.addLocalTier(new OffHeapNearCache(1024 * 1024, Duration.ofSeconds(10)));
+        cache.put(1, 2);
+        cache.evict(1);
+        assertThat(cache.lookup(1)).isNull();
+        verify(source).get(eq("1"), any(Transcoder.class));
+    }
+
+    @Test
+    void should_be_prefetched_hot_keys_into_local_tier_when_warmUp(@TempDir final Path directory)
+        throws EVCacheException {
+        final SerializingTranscoder transcoder = new SerializingTranscoder();
+        final KeyManifest manifest = new KeyManifest(directory.resolve("name.keys"), 10);
+        cache.setTranscoder(transcoder);
+        cache.setKeyManifest(manifest);
+        cache.lookup(1);
+        cache.close();
+        cache.addLocalTier(new OffHeapNearCache(1024 * 1024, Duration.ofSeconds(10)));
+        doReturn(singletonMap("1", transcoder.encode(2))).when(source)
+                                                         .getBulk(eq(singletonList("1")), any(Transcoder.class));
+        cache.warmUp();
+        assertThat(cache.lookup(1)).isEqualTo(2);
+        verify(source, never()).get(any(String.class), any(Transcoder.class));
+    }
+
+    @Test
+    void should_be_written_and_evicted_all_copies_when_key_is_hot() throws EVCacheException {
+        cache.setKeyReplicator(new KeyReplicator(2, "1"::equals, Duration.ofSeconds(10)));
+        cache.put(1, 2);
+        cache.evict(1);
+        verify(source).set("1", 2);
+        verify(source).set("1#0", 2, 10);
+        verify(source).set("1#1", 2, 10);
+        verify(source).delete("1");
+        verify(source).delete("1#0");
+        verify(source).delete("1#1");
+    }
+
+    @Test
+    void should_be_not_deleted_copies_when_written_key_was_never_hot() throws EVCacheException {
+        cache.setKeyReplicator(new KeyReplicator(2, "1"::equals, Duration.ofSeconds(10)));
+        cache.put(2, 3);
+        verify(source).set("2", 3);
+        verify(source, never()).delete(anyString());
+    }
+
+    @Test
+    void should_be_deleted_all_copies_when_written_key_is_no_longer_hot() throws EVCacheException {
+        final Set<String> hotKeys = new HashSet<>(singletonList("1"));
+        cache.setKeyReplicator(new KeyReplicator(2, hotKeys::contains, Duration.ofSeconds(10)));
+        cache.put(1, 2);
+        hotKeys.clear();
+        cache.put(1, 3);
+        verify(source).set("1", 3);
+        verify(source).delete("1#0");
+        verify(source).delete("1#1");
+    }
+
+    @Test
+    void should_be_repaired_copy_from_key_when_copy_is_absent() throws EVCacheException {
+        cache.setKeyReplicator(new KeyReplicator(2, "1"::equals, Duration.ofSeconds(10)));
+        doReturn(2).when(source).get("1");
+        assertThat(cache.lookup(1)).isEqualTo(2);
+        verify(source).set(any(String.class), eq(2), eq(10));
+    }
+
+    @Test
+    void should_be_stored_with_original_key_when_key_is_digested() throws EVCacheException {
+        final KeyDigester digester = new KeyDigester(40);
+        final String key = StringUtils.repeat('a', 41);
+        cache.setKeyDigester(digester);
+        cache.put(key, 2);
+        verify(source).set(eq(digester.digest(key)), any(KeyedValue.class));
+        doReturn(new KeyedValue(key, 2)).when(source).get(digester.digest(key));
+        assertThat(cache.get(key).get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_be_miss_when_digested_key_is_collided() throws EVCacheException {
+        final KeyDigester digester = new KeyDigester(40);
+        final String key = StringUtils.repeat('a', 41);
+        cache.setKeyDigester(digester);
+        doReturn(new KeyedValue("other", 2)).when(source).get(digester.digest(key));
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void should_be_used_key_encoder() throws EVCacheException {
+        cache.setKeyEncoder(key -> "encoded" + key);
+        cache.put(1, 2);
+        verify(source).set("encoded1", 2);
+    }
+
+    @Test
+    void should_be_skipped_remote_get_when_key_is_confirmed_absent() throws Exception {
+        cache.setNegativeLookupFilter(new NegativeLookupFilter("name", 10, Duration.ofMinutes(1)));
+        doReturn(null).when(source).get("1");
+        assertThat(cache.get(1, callable)).isNull();
+        assertThat(cache.lookup(1)).isEqualTo(NullValue.INSTANCE);
+        assertThat(cache.get(1)).isNotNull();
+        assertThat(cache.get(1).get()).isNull();
+        verify(source, times(1)).get("1");
+        verify(callable, times(1)).call();
+    }
+
+    @Test
+    void should_be_not_called_loader_again_when_key_is_confirmed_absent() throws Exception {
+        cache.setNegativeLookupFilter(new NegativeLookupFilter("name", 10, Duration.ofMinutes(1)));
+        doReturn(null).when(source).get("1");
+        assertThat(cache.get(1, callable)).isNull();
+        assertThat(cache.get(1, callable)).isNull();
+        verify(callable, times(1)).call();
+        verify(source, times(1)).get("1");
+    }
+
+    @Test
+    void should_be_miss_when_key_is_confirmed_absent_and_null_values_are_not_allowed() throws Exception {
+        final EVCacheImpl nonNull = new EVCacheImpl("name", source, false, 10, false);
+        final NegativeLookupFilter filter = new NegativeLookupFilter("name", 10, Duration.ofMinutes(1));
+        nonNull.setNegativeLookupFilter(filter);
+        filter.absent("1");
+        assertThat(nonNull.get(1)).isNull();
+        verify(source, never()).get("1");
+    }
+
+    @Test
+    void should_be_not_confirmed_absent_when_null_is_put() throws Exception {
+        cache.setNegativeLookupFilter(new NegativeLookupFilter("name", 10, Duration.ofMinutes(1)));
+        cache.put(1, null);
+        cache.lookup(1);
+        verify(source).get("1");
+    }
+
+    @Test
+    void should_be_not_confirmed_absent_when_write_is_failed() throws Exception {
+        cache.setNegativeLookupFilter(new NegativeLookupFilter("name", 10, Duration.ofMinutes(1)));
+        doThrow(new EVCacheException("")).when(source).set(eq("1"), any());
+        assertThatThrownBy(() -> cache.put(1, null)).isInstanceOf(EVCachePutException.class);
+        cache.lookup(1);
+        verify(source).get("1");
+    }
+
+    @Test
+    void should_be_not_skipped_remote_get_when_put_after_confirmed_absent() throws Exception {
+        cache.setNegativeLookupFilter(new NegativeLookupFilter("name", 10, Duration.ofMinutes(1)));
+        doReturn(null).when(source).get("1");
+        cache.get(1, callable);
+        cache.put(1, 2);
+        doReturn(2).when(source).get("1");
+        assertThat(cache.get(1).get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_be_set_with_negative_time_to_live_when_value_is_null() throws Exception {
+        cache.setTimeToLive(900);
+        cache.setNegativeTimeToLive(5);
+        doReturn(null).when(source).get("1");
+        cache.get(1, callable);
+        verify(source).set(eq("1"), any(), eq(5));
+        cache.put(2, 3);
+        verify(source).set("2", 3);
+    }
+
+    @Test
+    void should_be_set_with_negative_time_to_live_when_put_if_absent_null() throws Exception {
+        cache.setTimeToLive(900);
+        cache.setNegativeTimeToLive(5);
+        doReturn(null).when(source).get("1");
+        cache.putIfAbsent(1, null);
+        verify(source).set("1", NullValue.INSTANCE, 5);
+    }
+
+    @Test
+    void should_be_null_value_when_null_or_stored_for_null() {
+        assertThat(EVCacheImpl.isNullValue(null)).isTrue();
+        assertThat(EVCacheImpl.isNullValue(NullValue.INSTANCE)).isTrue();
+        assertThat(EVCacheImpl.isNullValue(1)).isFalse();
+    }
+
+    @Test
+    void should_be_set_encoded_with_negative_time_to_live_when_value_is_null() throws Exception {
+        cache.setTimeToLive(900);
+        cache.setNegativeTimeToLive(5);
+        cache.setWriteSuppressor(new WriteSuppressor(10, Duration.ofMinutes(1)), false);
+        cache.put(1, null);
+        verify(source).set(eq("1"), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), eq(5));
+    }
+
+    @Test
+    void should_be_set_with_given_time_to_live_when_put() throws EVCacheException {
+        cache.setTimeToLive(900);
+        cache.put(1, 2, Duration.ofMillis(1500));
+        verify(source).set("1", 2, 2);
+    }
+
+    @Test
+    void should_be_clamped_time_to_live_to_30_days_when_put() throws EVCacheException {
+        cache.setTimeToLive(900);
+        cache.put(1, 2, Duration.ofDays(365));
+        verify(source).set("1", 2, 2_592_000);
+    }
+
+    @Test
+    void should_be_set_with_time_to_live_of_value_when_value_is_expirable() throws EVCacheException {
+        cache.setTimeToLive(900);
+        final EVCacheExpirable value = mock(EVCacheExpirable.class);
+        doReturn(Duration.ofSeconds(30)).when(value).getTimeToLive();
+        doReturn(null).when(source).get("1");
+        assertThat(cache.get(1, () -> value)).isSameAs(value);
+        verify(source).set("1", value, 30);
+    }
+
+    @Test
+    void should_be_thrown_IllegalStateException_when_time_to_live_is_not_positive() {
+        assertThatThrownBy(() -> cache.put(1, 2, Duration.ZERO)).isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_be_set_with_adaptive_time_to_live_when_enabled() throws EVCacheException {
+        cache.setTimeToLive(900);
+        cache.setAdaptiveTimeToLive(new AdaptiveTimeToLive(10, Duration.ofSeconds(10), Duration.ofSeconds(60), 0));
+        cache.put(1, 2);
+        verify(source).set(eq("1"), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), eq(60));
+    }
+
+    @Test
+    void should_be_touched_at_most_once_per_interval_when_sliding_expiration() throws EVCacheException {
+        cache.setTimeToLive(900);
+        cache.setSlidingExpiration(new SlidingExpiration(Duration.ofMinutes(1)));
+        final CachedData data = new EVCacheTranscoder().encode(1);
+        doReturn(data).when(source).getAndTouch("1", 900, CachedDataTranscoder.INSTANCE);
+        doReturn(data).when(source).get("1", CachedDataTranscoder.INSTANCE);
+        assertThat(cache.get(1).get()).isEqualTo(1);
+        assertThat(cache.get(1).get()).isEqualTo(1);
+        verify(source, times(1)).getAndTouch("1", 900, CachedDataTranscoder.INSTANCE);
+        verify(source, times(1)).get("1", CachedDataTranscoder.INSTANCE);
+        verify(source, never()).touch(anyString(), anyInt());
+    }
+
+    @Test
+    void should_be_touched_with_time_to_live_written_with_when_sliding_expiration() throws EVCacheException {
+        cache.setTimeToLive(900);
+        cache.setSlidingExpiration(new SlidingExpiration(Duration.ofMinutes(1)));
+        final AtomicReference<CachedData> written = new AtomicReference<>();
+        doAnswer(invocation -> {
+            written.set(invocation.getArgument(1));
+            return null;
+        }).when(source).set(eq("1"), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), eq(30));
+        cache.put(1, 2, Duration.ofSeconds(30));
+        assertThat(ExpiringValue.timeToLiveOf(written.get(), 900)).isEqualTo(30);
+        doAnswer(invocation -> written.get()).when(source).getAndTouch("1", 900, CachedDataTranscoder.INSTANCE);
+        assertThat(cache.get(1).get()).isEqualTo(2);
+        verify(source).touch("1", 30);
+    }
+
+    @Test
+    void should_be_read_when_touch_is_failed_on_local_tier_hit() throws EVCacheException {
+        cache.setTimeToLive(900);
+        cache.setSlidingExpiration(new SlidingExpiration(Duration.ofMinutes(1)));
+        final OffHeapNearCache tier = new OffHeapNearCache(1024 * 1024, Duration.ofSeconds(10));
+        tier.put("1", new EVCacheTranscoder().encode(2));
+        cache.addLocalTier(tier);
+        doThrow(new EVCacheException("")).when(source).touch("1", 900);
+        assertThat(cache.get(1).get()).isEqualTo(2);
+        verify(source).touch("1", 900);
+    }
+
+    @Test
+    void should_be_set_when_lease_is_still_valid() throws Exception {
+        cache.setLeases(new Leases(Duration.ofSeconds(10)));
+        final AtomicReference<CachedData> lease = new AtomicReference<>();
+        doReturn(null).when(source).get("1");
+        doAnswer(invocation -> {
+            lease.set(invocation.getArgument(1));
+            return null;
+        }).when(source).set(eq("1#lease"), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), eq(10));
+        doAnswer(invocation -> lease.get()).when(source).get("1#lease", CachedDataTranscoder.INSTANCE);
+        doReturn(2).when(callable).call();
+        assertThat(cache.get(1, callable)).isEqualTo(2);
+        verify(source).set("1", 2);
+    }
+
+    @Test
+    void should_be_not_set_when_lease_is_invalidated_while_loading() throws Exception {
+        cache.setLeases(new Leases(Duration.ofSeconds(10)));
+        doReturn(null).when(source).get("1");
+        doReturn(null).when(source).get("1#lease", CachedDataTranscoder.INSTANCE);
+        doReturn(2).when(callable).call();
+        assertThat(cache.get(1, callable)).isEqualTo(2);
+        verify(source, never()).set("1", 2);
+    }
+
+    @Test
+    void should_be_deleted_lease_when_evict() throws EVCacheException {
+        cache.setLeases(new Leases(Duration.ofSeconds(10)));
+        cache.evict(1);
+        verify(source).delete("1#lease");
+        verify(source).delete("1");
+    }
+
+    @Test
+    void should_be_updated_when_update_is_taken() throws EVCacheException {
+        doReturn(1L).when(source).incr("1#update", 1, 1, 10);
+        doReturn(new EVCacheTranscoder().encode(2)).when(source).get("1", CachedDataTranscoder.INSTANCE);
+        final Integer result = cache.update(1, (Integer value) -> value + 1);
+        assertThat(result).isEqualTo(3);
+        verify(source).set("1", 3);
+        verify(source).delete("1#update");
+    }
+
+    @Test
+    void should_be_left_update_to_expire_when_write_is_not_completed_while_held() throws EVCacheException {
+        cache.setUpdateGuard(new UpdateGuard("name", 3, Duration.ofMillis(1), Duration.ofSeconds(2)));
+        doReturn(1L).when(source).incr("1#update", 1, 1, 2);
+        doReturn(new EVCacheTranscoder().encode(2)).when(source).get("1", CachedDataTranscoder.INSTANCE);
+        doReturn(new Future[]{new CompletableFuture<Boolean>()}).when(source).set("1", 3);
+        assertThat(cache.update(1, (Integer value) -> value + 1)).isEqualTo(3);
+        verify(source, never()).delete("1#update");
+    }
+
+    @Test
+    void should_be_thrown_EVCacheUpdateException_when_update_is_contended() throws EVCacheException {
+        cache.setUpdateGuard(new UpdateGuard("name", 3, Duration.ofMillis(1), Duration.ofSeconds(10)));
+        doReturn(2L).when(source).incr("1#update", 1, 1, 10);
+        assertThatThrownBy(() -> cache.update(1, (Integer value) -> value + 1))
+            .isExactlyInstanceOf(EVCacheUpdateException.class);
+        verify(source, times(3)).incr("1#update", 1, 1, 10);
+        verify(source, never()).delete("1#update");
+    }
+
+    @Test
+    void should_be_read_pending_value_when_written_behind() throws EVCacheException {
+        final WriteBehindBuffer buffer = new WriteBehindBuffer("name", 10, 10, Duration.ofMinutes(1));
+        cache.setWriteBehindBuffer(buffer);
+        cache.put(1, 2);
+        cache.put(1, 3);
+        verify(source, never()).set(any(), any());
+        assertThat(cache.get(1).get()).isEqualTo(3);
+        buffer.flush();
+        verify(source).set("1", 3);
+        verify(source, never()).set("1", 2);
+        buffer.close();
+    }
+
+    @Test
+    void should_be_discarded_pending_value_when_evict() throws EVCacheException {
+        final WriteBehindBuffer buffer = new WriteBehindBuffer("name", 10, 10, Duration.ofMinutes(1));
+        cache.setWriteBehindBuffer(buffer);
+        cache.put(1, 2);
+        cache.evict(1);
+        cache.close();
+        verify(source, never()).set(any(), any());
+        verify(source).delete("1");
+    }
+
+    @Test
+    void should_be_thrown_EVCachePutException_when_write_is_not_acknowledged() throws Exception {
+        final EVCacheLatch latch = mock(EVCacheLatch.class);
+        doReturn(false).when(latch).await(anyLong(), any());
+        doReturn(latch).when(source)
+                       .set(eq("1"), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), anyInt(),
+                            eq(EVCacheLatch.Policy.ALL));
+        cache.setWritePolicy(new WritePolicy("name", EVCacheLatch.Policy.ALL, Duration.ofMillis(1)));
+        assertThatThrownBy(() -> cache.put(1, 2)).isExactlyInstanceOf(EVCachePutException.class);
+    }
+
+    @Test
+    void should_be_not_waited_when_write_is_fire_and_forget() throws Exception {
+        final EVCacheLatch latch = mock(EVCacheLatch.class);
+        doReturn(latch).when(source)
+                       .set(eq("1"), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), anyInt(),
+                            eq(EVCacheLatch.Policy.NONE));
+        cache.setWritePolicy(new WritePolicy("name", EVCacheLatch.Policy.NONE, Duration.ofMillis(1)));
+        cache.put(1, 2);
+        verify(latch, never()).await(anyLong(), any());
+    }
+
+    @Test
+    void should_be_thrown_EVCachePutException_when_put_has_no_latch() {
+        cache.setWritePolicy(new WritePolicy("name", EVCacheLatch.Policy.ALL, Duration.ofMillis(1)));
+        assertThatThrownBy(() -> cache.put(1, 2)).isExactlyInstanceOf(EVCachePutException.class);
+    }
+
+    @Test
+    void should_be_deleted_and_set_when_writeAll() throws EVCacheException {
+        cache.writeAll(singletonMap(1, 2), singletonList(3));
+        verify(source).delete("3");
+        verify(source).set("1", 2);
+    }
+
+    @Test
+    void should_be_waited_after_all_written_when_writeAll_with_write_policy() throws Exception {
+        final EVCacheLatch latch = mock(EVCacheLatch.class);
+        doReturn(false).when(latch).await(anyLong(), any());
+        doReturn(latch).when(source)
+                       .set(anyString(), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), anyInt(),
+                            eq(EVCacheLatch.Policy.ALL));
+        cache.setWritePolicy(new WritePolicy("name", EVCacheLatch.Policy.ALL, Duration.ofMillis(1)));
+        final Map<Object, Object> puts = new LinkedHashMap<>();
+        puts.put(1, 2);
+        puts.put(3, 4);
+        assertThatThrownBy(() -> cache.writeAll(puts, emptyList()))
+            .isExactlyInstanceOf(EVCachePutException.class);
+        verify(source, times(2)).set(anyString(), any(CachedData.class), eq(CachedDataTranscoder.INSTANCE), anyInt(),
+                                     eq(EVCacheLatch.Policy.ALL));
+        verify(latch, times(2)).await(anyLong(), any());
+    }
+
+    @Test
+    void should_be_thrown_EVCachePutException_when_writeAll_has_no_latch() {
+        cache.setWritePolicy(new WritePolicy("name", EVCacheLatch.Policy.ALL, Duration.ofMillis(1)));
+        assertThatThrownBy(() -> cache.writeAll(singletonMap(1, 2), emptyList()))
+            .isExactlyInstanceOf(EVCachePutException.class);
+    }
+
+    @Test
+    void should_be_memoized_reads_within_request() throws EVCacheException {
+        cache.setRequestMemoized(true);
+        doReturn(1).when(source).get("1");
+        doReturn(new EVCacheTranscoder().encode(1)).when(source).get("1", CachedDataTranscoder.INSTANCE);
+        try (RequestMemo.Scope scope = RequestMemo.open()) {
+            assertThat(cache.get(1).get()).isEqualTo(1);
+            assertThat(cache.get(1).get()).isEqualTo(1);
+        }
+        assertThat(cache.get(1).get()).isEqualTo(1);
+        verify(source).get("1", CachedDataTranscoder.INSTANCE);
+        verify(source).get("1");
+    }
+
+    @Test
+    void should_be_decoded_memoized_read_for_each_caller() throws EVCacheException {
+        cache.setRequestMemoized(true);
+        final CachedData data = new EVCacheTranscoder().encode(new StringBuilder("value"));
+        doReturn(data).when(source).get("1", CachedDataTranscoder.INSTANCE);
+        try (RequestMemo.Scope scope = RequestMemo.open()) {
+            final StringBuilder first = cache.get(1, StringBuilder.class);
+            first.append("-changed");
+            assertThat(cache.get(1, StringBuilder.class)).isNotSameAs(first).hasToString("value");
+        }
+        verify(source).get("1", CachedDataTranscoder.INSTANCE);
+    }
+
+    @Test
+    void should_be_read_again_when_put_or_evict_within_request() throws EVCacheException {
+        cache.setRequestMemoized(true);
+        doReturn(new EVCacheTranscoder().encode(1)).when(source).get("1", CachedDataTranscoder.INSTANCE);
+        try (RequestMemo.Scope scope = RequestMemo.open()) {
+            cache.get(1);
+            cache.put(1, 2);
+            cache.get(1);
+            cache.evict(1);
+            cache.get(1);
+        }
+        verify(source, times(3)).get("1", CachedDataTranscoder.INSTANCE);
+    }
+
+    @Test
+    void should_be_not_memoized_when_request_memoized_is_disabled() throws EVCacheException {
+        doReturn(1).when(source).get("1");
+        try (RequestMemo.Scope scope = RequestMemo.open()) {
+            cache.get(1);
+            cache.get(1);
+        }
+        verify(source, times(2)).get("1");
+    }
+
+    @Test
+    void should_be_read_prefetched_follower_without_get() throws EVCacheException {
+        final SerializingTranscoder transcoder = new SerializingTranscoder();
+        cache.setTranscoder(transcoder);
+        cache.setPrefetcher(new CoAccessPrefetcher("name", 10, Duration.ofMinutes(1), 0.5, Duration.ofMinutes(1),
+                                                   Runnable::run, Ticker.systemTicker(), new DefaultRegistry()));
+        doReturn(singletonMap("2", transcoder.encode(3))).when(source)
+                                                         .getBulk(eq(singletonList("2")), any(Transcoder.class));
+        for (int round = 0; round < 3; round++) {
+            cache.lookup(1);
+            cache.lookup(2);
+        }
+        cache.lookup(1);
+        assertThat(cache.lookup(2)).isEqualTo(3);
+        verify(source, times(3)).get("2", CachedDataTranscoder.INSTANCE);
+    }
+
+    @Test
+    void should_be_shutdown_prefetcher_when_closed() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        cache.setPrefetcher(new CoAccessPrefetcher("name", 10, Duration.ofMinutes(1), 0.5, Duration.ofMinutes(1),
+                                                   executor, Ticker.systemTicker(), new DefaultRegistry()));
+        cache.close();
+        assertThat(executor.isShutdown()).isTrue();
+    }
 }
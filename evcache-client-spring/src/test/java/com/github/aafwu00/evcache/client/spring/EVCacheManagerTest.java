@@ -20,10 +20,13 @@ import com.netflix.archaius.DefaultPropertyFactory;
 import com.netflix.archaius.config.EmptyConfig;
 import com.netflix.evcache.EVCache;
 import com.netflix.evcache.EVCacheImpl;
+import com.netflix.evcache.EVCacheTranscoder;
 import com.netflix.evcache.connection.ConnectionFactoryBuilder;
 import com.netflix.evcache.pool.EVCacheClientPoolManager;
 import com.netflix.evcache.pool.SimpleNodeListProvider;
 import com.netflix.evcache.util.EVCacheConfig;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
 import org.junit.jupiter.api.Test;
 import org.springframework.cache.Cache;
 
@@ -33,6 +36,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +45,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.getField;
 
 /**
  * @author Taeho Kim
@@ -87,4 +93,97 @@ class EVCacheManagerTest {
                                                                  .getTimeToLive()
                                                                  .getSeconds());
     }
+
+    private EVCacheManager manager() {
+        final EVCacheConfiguration configuration = new EVCacheConfiguration("1",
+                                                                            1,
+                                                                            "TEST",
+                                                                            "test1",
+                                                                            Duration.ofSeconds(1000),
+                                                                            true,
+                                                                            true);
+        return new EVCacheManager(mock(EVCacheClientPoolManager.class), singleton(configuration), emptyList());
+    }
+
+    @Test
+    void should_be_wrapped_default_transcoder_with_null_value_transcoder_when_null_values_are_allowed() {
+        final Transcoder<Object> transcoder = manager().determineTranscoder();
+        assertThat(transcoder).isInstanceOf(NullValueTranscoder.class);
+        assertThat(getField(transcoder, "delegate")).isInstanceOf(EVCacheTranscoder.class);
+    }
+
+    @Test
+    void should_be_default_transcoder_when_null_values_are_not_allowed() {
+        final EVCacheManager manager = manager();
+        manager.setAllowNullValues(false);
+        assertThat(manager.determineTranscoder()).isInstanceOf(EVCacheTranscoder.class);
+    }
+
+    @Test
+    void should_be_wrapped_custom_transcoder_with_null_value_transcoder_when_null_values_are_allowed() {
+        final SerializingTranscoder custom = new SerializingTranscoder();
+        final EVCacheManager manager = manager();
+        manager.setTranscoder(custom);
+        final Transcoder<Object> transcoder = manager.determineTranscoder();
+        assertThat(transcoder).isInstanceOf(NullValueTranscoder.class);
+        assertThat(getField(transcoder, "delegate")).isSameAs(custom);
+    }
+
+    @Test
+    void should_be_custom_transcoder_when_null_values_are_not_allowed() {
+        final SerializingTranscoder custom = new SerializingTranscoder();
+        final EVCacheManager manager = manager();
+        manager.setTranscoder(custom);
+        manager.setAllowNullValues(false);
+        assertThat(manager.determineTranscoder()).isSameAs(custom);
+    }
+
+    @Test
+    void should_be_wrapped_primitive_value_transcoder_with_null_value_transcoder_when_null_values_are_allowed() {
+        final EVCacheManager manager = manager();
+        manager.setPrimitiveValueEncoding(true);
+        final Transcoder<Object> transcoder = manager.determineTranscoder();
+        assertThat(transcoder).isInstanceOf(NullValueTranscoder.class);
+        final Object delegate = getField(transcoder, "delegate");
+        assertThat(delegate).isInstanceOf(PrimitiveValueTranscoder.class);
+        assertThat(getField(delegate, "delegate")).isInstanceOf(EVCacheTranscoder.class);
+    }
+
+    @Test
+    void should_be_primitive_value_transcoder_when_null_values_are_not_allowed() {
+        final EVCacheManager manager = manager();
+        manager.setPrimitiveValueEncoding(true);
+        manager.setAllowNullValues(false);
+        final Transcoder<Object> transcoder = manager.determineTranscoder();
+        assertThat(transcoder).isInstanceOf(PrimitiveValueTranscoder.class);
+        assertThat(getField(transcoder, "delegate")).isInstanceOf(EVCacheTranscoder.class);
+    }
+
+    @Test
+    void should_be_custom_transcoder_over_primitive_value_encoding() {
+        final SerializingTranscoder custom = new SerializingTranscoder();
+        final EVCacheManager manager = manager();
+        manager.setTranscoder(custom);
+        manager.setPrimitiveValueEncoding(true);
+        manager.setAllowNullValues(false);
+        assertThat(manager.determineTranscoder()).isSameAs(custom);
+    }
+
+    @Test
+    void should_be_decorated_with_transaction_aware_decorator_when_transaction_aware() {
+        final com.github.aafwu00.evcache.client.spring.EVCache cache =
+            mock(com.github.aafwu00.evcache.client.spring.EVCache.class);
+        final EVCacheManager manager = manager();
+        manager.setTransactionAware(true);
+        final Cache decorated = manager.decorateCache(cache);
+        assertThat(decorated).isInstanceOf(TransactionAwareEVCacheDecorator.class);
+        assertThat(((TransactionAwareEVCacheDecorator) decorated).getTargetCache()).isSameAs(cache);
+    }
+
+    @Test
+    void should_be_not_decorated_when_not_transaction_aware() {
+        final com.github.aafwu00.evcache.client.spring.EVCache cache =
+            mock(com.github.aafwu00.evcache.client.spring.EVCache.class);
+        assertThat(manager().decorateCache(cache)).isSameAs(cache);
+    }
 }
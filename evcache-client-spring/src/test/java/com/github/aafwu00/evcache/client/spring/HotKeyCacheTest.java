@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import net.spy.memcached.CachedData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class HotKeyCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private Registry registry;
+    private HotKeyCache hotKeyCache;
+
+    @BeforeEach
+    void setUp() {
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        registry = new DefaultRegistry();
+        hotKeyCache = new HotKeyCache("name", 10, 2, Duration.ofMillis(500), ticker, registry);
+    }
+
+    private void read(final String key, final int count) {
+        for (int index = 0; index < count; index++) {
+            hotKeyCache.get(key);
+        }
+    }
+
+    private void nextWindow() {
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        hotKeyCache.get("tick");
+    }
+
+    private CachedData data() {
+        return new CachedData(1, new byte[]{1}, CachedData.MAX_SIZE);
+    }
+
+    @Test
+    void should_be_not_stored_when_key_is_not_promoted() {
+        hotKeyCache.put("key", data());
+        assertThat(hotKeyCache.get("key")).isNull();
+    }
+
+    @Test
+    void should_be_promoted_when_read_above_threshold() {
+        read("hot", 10);
+        read("cold", 9);
+        nextWindow();
+        assertThat(hotKeyCache.promotedKeys()).containsExactly("hot");
+        hotKeyCache.put("hot", data());
+        hotKeyCache.put("cold", data());
+        assertThat(hotKeyCache.get("hot")).isNotNull();
+        assertThat(hotKeyCache.get("cold")).isNull();
+        assertThat(registry.counter("evcache.hotKey.promotions", "cache", "name").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_demoted_when_read_below_threshold() {
+        read("hot", 10);
+        nextWindow();
+        hotKeyCache.put("hot", data());
+        nextWindow();
+        assertThat(hotKeyCache.promotedKeys()).isEmpty();
+        assertThat(hotKeyCache.get("hot")).isNull();
+        assertThat(registry.counter("evcache.hotKey.demotions", "cache", "name").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_limited_promoted_keys_to_maximum_size() {
+        read("first", 30);
+        read("second", 20);
+        read("third", 10);
+        nextWindow();
+        assertThat(hotKeyCache.promotedKeys()).containsOnly("first", "second");
+    }
+
+    @Test
+    void should_be_expired_promoted_value() {
+        read("hot", 10);
+        nextWindow();
+        hotKeyCache.put("hot", data());
+        nanos.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(hotKeyCache.get("hot")).isNull();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class HotKeyTrackerTest {
+    @Test
+    void should_be_ordered_by_count() {
+        final HotKeyTracker tracker = new HotKeyTracker(10);
+        tracker.record("a");
+        tracker.record("b");
+        tracker.record("b");
+        tracker.record("c");
+        tracker.record("c");
+        tracker.record("c");
+        assertThat(tracker.topKeys(2)).containsExactly("c", "b");
+    }
+
+    @Test
+    void should_be_kept_frequent_keys_when_exceeded_capacity() {
+        final HotKeyTracker tracker = new HotKeyTracker(4);
+        for (int index = 0; index < 100; index++) {
+            tracker.record("hot");
+            tracker.record("cold" + index);
+        }
+        assertThat(tracker.topKeys(1)).containsExactly("hot");
+    }
+
+    @Test
+    void should_be_not_underestimated_when_replaced() {
+        final HotKeyTracker tracker = new HotKeyTracker(1);
+        tracker.record("a");
+        tracker.record("a");
+        assertThat(tracker.record("b")).isEqualTo(3);
+    }
+
+    @Test
+    void should_be_heavy_hitters_of_which_count_is_not_less_than_minimum() {
+        final HotKeyTracker tracker = new HotKeyTracker(2);
+        tracker.record("a");
+        tracker.record("a");
+        tracker.record("b");
+        tracker.record("c");
+        assertThat(tracker.heavyHitters(2)).containsExactlyInAnyOrder("a", "c");
+        assertThat(tracker.topKeys(2)).containsExactly("a", "c");
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Taeho Kim
+ */
+class KeyDigesterTest {
+    private final KeyDigester digester = new KeyDigester(64);
+
+    @Test
+    void should_be_kept_short_key() {
+        final String key = StringUtils.repeat('a', 64);
+        assertThat(digester.digest(key)).isSameAs(key);
+    }
+
+    @Test
+    void should_be_digested_long_key_with_readable_head() {
+        final String key = StringUtils.repeat('a', 65);
+        final String result = digester.digest(key);
+        assertThat(result).hasSize(64)
+                          .startsWith(StringUtils.repeat('a', 31) + "~")
+                          .isEqualTo(digester.digest(key))
+                          .isNotEqualTo(digester.digest(StringUtils.repeat('a', 66)));
+    }
+
+    @Test
+    void should_be_not_exceeded_maximum_bytes_when_key_is_multibyte() {
+        final String key = StringUtils.repeat('\uac00', 30);
+        assertThat(digester.digest(key).getBytes(UTF_8)).hasSizeLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void should_be_digested_when_prefixed_key_is_longer_than_memcached_maximum() {
+        final KeyDigester prefixed = new KeyDigester(250, StringUtils.repeat('p', 49));
+        assertThat(prefixed.digest(StringUtils.repeat('a', 200))).hasSize(200);
+        assertThat(prefixed.digest(StringUtils.repeat('a', 201))).hasSize(200);
+    }
+
+    @Test
+    void should_be_thrown_exception_when_maximum_length_is_too_small() {
+        assertThatThrownBy(() -> new KeyDigester(32)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new KeyDigester(64, StringUtils.repeat('p', 217)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
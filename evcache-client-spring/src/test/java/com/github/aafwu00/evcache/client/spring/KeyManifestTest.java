@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class KeyManifestTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_be_empty_when_file_is_absent() {
+        final KeyManifest manifest = new KeyManifest(directory.resolve("test.keys"), 2);
+        assertThat(manifest.read()).isEmpty();
+        manifest.close();
+    }
+
+    @Test
+    void should_be_read_written_hot_keys() {
+        final KeyManifest manifest = new KeyManifest(directory.resolve("test.keys"), 2);
+        manifest.record("a");
+        manifest.record("b");
+        manifest.record("b");
+        manifest.record("c");
+        manifest.record("c");
+        manifest.record("c");
+        manifest.write();
+        assertThat(manifest.read()).containsExactly("c", "b");
+        manifest.close();
+    }
+
+    @Test
+    void should_be_written_when_closed() {
+        final ScheduledExecutorService writer = mock(ScheduledExecutorService.class);
+        final KeyManifest manifest = new KeyManifest(directory.resolve("nested").resolve("test.keys"), 2, writer);
+        manifest.record("a");
+        manifest.close();
+        verify(writer).shutdownNow();
+        assertThat(new KeyManifest(directory.resolve("nested").resolve("test.keys"), 2, writer).read())
+            .containsExactly("a");
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class KeyReplicatorTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private Set<String> hotKeys;
+    private KeyReplicator replicator;
+
+    @BeforeEach
+    void setUp() {
+        hotKeys = new HashSet<>();
+        hotKeys.add("hot");
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        replicator = new KeyReplicator(3, hotKeys::contains, Duration.ofSeconds(10), 10, ticker);
+    }
+
+    @Test
+    void should_be_picked_one_of_copies() {
+        assertThat(replicator.pick("hot")).isIn("hot#0", "hot#1", "hot#2");
+    }
+
+    @Test
+    void should_be_written_all_copies_when_key_is_hot() {
+        assertThat(replicator.replicasToWrite("hot")).containsExactly("hot#0", "hot#1", "hot#2");
+        assertThat(replicator.replicasToWrite("cold")).isEmpty();
+    }
+
+    @Test
+    void should_be_not_deleted_copies_when_written_key_was_never_hot() {
+        assertThat(replicator.replicasToDelete("cold")).isEmpty();
+    }
+
+    @Test
+    void should_be_deleted_all_copies_once_when_written_key_is_no_longer_hot() {
+        assertThat(replicator.replicasToDelete("hot")).isEmpty();
+        hotKeys.remove("hot");
+        assertThat(replicator.replicasToDelete("hot")).containsExactly("hot#0", "hot#1", "hot#2");
+        assertThat(replicator.replicasToDelete("hot")).isEmpty();
+    }
+
+    @Test
+    void should_be_not_deleted_copies_when_key_was_hot_before_time_to_live_of_copies() {
+        assertThat(replicator.isHotKey("hot")).isTrue();
+        hotKeys.remove("hot");
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(replicator.replicasToDelete("hot")).isEmpty();
+    }
+
+    @Test
+    void should_be_bounded_time_to_live_of_copies() {
+        assertThat(replicator.timeToLiveOf(100)).isEqualTo(10);
+        assertThat(replicator.timeToLiveOf(5)).isEqualTo(5);
+        assertThat(replicator.timeToLiveOf(0)).isEqualTo(10);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.SerializationUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class LazyListTranscoderTest {
+    private Transcoder<Object> delegate;
+    private LazyListTranscoder transcoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new SerializingTranscoder());
+        transcoder = new LazyListTranscoder(delegate, 2);
+    }
+
+    @Test
+    void should_be_decoded_only_touched_elements() {
+        final CachedData data = transcoder.encode(Arrays.asList("a", null, 3L, "d"));
+        assertThat(data.getFlags()).isEqualTo(LazyListTranscoder.LAZY_LIST_FLAGS);
+        clearInvocations(delegate);
+        final List<?> list = (List<?>) transcoder.decode(data);
+        assertThat(list).isInstanceOf(LazyList.class).hasSize(4);
+        assertThat(list.get(2)).isEqualTo(3L);
+        assertThat(list.get(2)).isEqualTo(3L);
+        verify(delegate, times(1)).decode(any());
+        assertThat(list).containsExactly("a", null, 3L, "d");
+    }
+
+    @Test
+    void should_be_thrown_exception_when_index_is_out_of_range() {
+        final List<?> list = (List<?>) transcoder.decode(transcoder.encode(Arrays.asList("a", "b")));
+        assertThatThrownBy(() -> list.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void should_be_reused_bytes_when_encode_LazyList() {
+        final CachedData data = transcoder.encode(Arrays.asList("a", "b"));
+        assertThat(transcoder.encode(transcoder.decode(data)).getData()).isSameAs(data.getData());
+    }
+
+    @Test
+    void should_be_serialized_as_ArrayList() {
+        final Object list = transcoder.decode(transcoder.encode(Arrays.asList("a", "b")));
+        assertThat(SerializationUtils.deserialize(SerializationUtils.serialize(list)))
+            .isEqualTo(Arrays.asList("a", "b"));
+    }
+
+    @Test
+    void should_be_delegated_when_list_is_small() {
+        final CachedData data = transcoder.encode(Collections.singletonList("a"));
+        assertThat(data.getFlags()).isNotEqualTo(LazyListTranscoder.LAZY_LIST_FLAGS);
+        assertThat(transcoder.decode(data)).isEqualTo(Collections.singletonList("a"));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Taeho Kim
+ */
+class LeasesTest {
+    private final Leases leases = new Leases(Duration.ofSeconds(10));
+
+    @Test
+    void should_be_suffixed_lease_key() {
+        assertThat(leases.leaseKey("key")).isEqualTo("key#lease");
+    }
+
+    @Test
+    void should_be_valid_when_token_is_same() {
+        final CachedData token = leases.newToken();
+        assertThat(leases.isValid(token, new CachedData(token.getFlags(), token.getData(), CachedData.MAX_SIZE)))
+            .isTrue();
+    }
+
+    @Test
+    void should_be_invalid_when_token_is_replaced_or_deleted() {
+        final CachedData token = leases.newToken();
+        assertThat(leases.isValid(token, leases.newToken())).isFalse();
+        assertThat(leases.isValid(token, null)).isFalse();
+    }
+
+    @Test
+    void should_be_seconds_of_time_to_live() {
+        assertThat(leases.getTimeToLive()).isEqualTo(10);
+    }
+
+    @Test
+    void should_be_thrown_IllegalStateException_when_time_to_live_is_zero() {
+        assertThatThrownBy(() -> new Leases(Duration.ZERO)).isExactlyInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class MappedDiskTierTest {
+    private static final int SEGMENT_SIZE = 4 * 1024;
+    @TempDir
+    Path directory;
+    private MutableClock clock;
+    private MappedDiskTier diskTier;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        diskTier = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        diskTier.close();
+    }
+
+    private MappedDiskTier open() {
+        return new MappedDiskTier(directory, SEGMENT_SIZE, SEGMENT_SIZE * 4, Duration.ofMinutes(10), clock);
+    }
+
+    private MappedDiskTier reopen() {
+        diskTier.close();
+        diskTier = open();
+        return diskTier;
+    }
+
+    private CachedData data(final int size) {
+        return new CachedData(1, new byte[size], CachedData.MAX_SIZE);
+    }
+
+    @Test
+    void should_be_returned_stored_bytes() {
+        diskTier.put("key", new CachedData(3, new byte[]{1, 2, 3}, CachedData.MAX_SIZE));
+        final CachedData data = diskTier.get("key");
+        assertThat(data.getFlags()).isEqualTo(3);
+        assertThat(data.getData()).containsExactly(1, 2, 3);
+        assertThat(diskTier.get("other")).isNull();
+    }
+
+    @Test
+    void should_be_recovered_when_reopened() {
+        diskTier.put("key", new CachedData(3, new byte[]{1, 2, 3}, CachedData.MAX_SIZE));
+        diskTier.put("key", new CachedData(3, new byte[]{4, 5}, CachedData.MAX_SIZE));
+        assertThat(reopen().get("key").getData()).containsExactly(4, 5);
+    }
+
+    @Test
+    void should_be_null_when_invalidated_before_reopened() {
+        diskTier.put("key", data(10));
+        diskTier.invalidate("key");
+        assertThat(diskTier.get("key")).isNull();
+        assertThat(reopen().get("key")).isNull();
+    }
+
+    @Test
+    void should_be_null_when_expired() {
+        diskTier.put("key", data(10));
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(diskTier.get("key")).isNull();
+        assertThat(reopen().get("key")).isNull();
+    }
+
+    @Test
+    void should_be_dropped_oldest_segment_when_exceeded_maximum_size() {
+        for (int index = 0; index < 20; index++) {
+            diskTier.put("key" + index, data(1024));
+        }
+        assertThat(diskTier.segmentCount()).isEqualTo(4);
+        assertThat(diskTier.get("key0")).isNull();
+        assertThat(diskTier.get("key19")).isNotNull();
+    }
+
+    @Test
+    void should_be_ignored_when_larger_than_segment() {
+        diskTier.put("key", data(10));
+        diskTier.put("key", data(SEGMENT_SIZE));
+        assertThat(diskTier.get("key")).isNull();
+    }
+
+    @Test
+    void should_be_kept_live_records_when_compacted() {
+        diskTier.put("live", data(1024));
+        for (int index = 0; index < 6; index++) {
+            diskTier.put("dead", data(1024));
+        }
+        assertThat(diskTier.segmentCount()).isEqualTo(3);
+        diskTier.compact();
+        assertThat(diskTier.segmentCount()).isEqualTo(1);
+        assertThat(diskTier.get("live")).isNotNull();
+        assertThat(reopen().get("live")).isNotNull();
+        assertThat(diskTier.get("dead")).isNotNull();
+    }
+
+    @Test
+    void should_be_counted_whole_record_in_live_ratio() {
+        diskTier.put("key", data(10));
+        assertThat(diskTier.liveRatio()).isEqualTo(1);
+        diskTier.put("key", data(10));
+        assertThat(diskTier.liveRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_be_kept_live_records_when_compacted_segment_is_dropped_by_roll() {
+        diskTier.close();
+        diskTier = new MappedDiskTier(directory, SEGMENT_SIZE, SEGMENT_SIZE * 2, Duration.ofMinutes(10), clock);
+        diskTier.put("live", data(1024));
+        for (int index = 0; index < 5; index++) {
+            diskTier.put("dead", data(1024));
+        }
+        assertThat(diskTier.segmentCount()).isEqualTo(2);
+        diskTier.compact();
+        assertThat(diskTier.segmentCount()).isEqualTo(1);
+        assertThat(diskTier.get("live")).isNotNull();
+        assertThat(diskTier.get("dead")).isNotNull();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.EPOCH;
+
+        private void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class NegativeLookupFilterTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private Registry registry;
+    private NegativeLookupFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        registry = new DefaultRegistry();
+        filter = new NegativeLookupFilter("name", 2, Duration.ofSeconds(10), ticker, registry);
+    }
+
+    private void elapse(final int seconds) {
+        nanos.addAndGet(Duration.ofSeconds(seconds).toNanos());
+    }
+
+    private long count(final String name) {
+        return registry.counter(name, "cache", "name").count();
+    }
+
+    @Test
+    void should_be_not_absent_when_never_marked() {
+        assertThat(filter.isAbsent("key")).isFalse();
+        assertThat(count("evcache.negativeFilter.skipped")).isZero();
+    }
+
+    @Test
+    void should_be_absent_when_marked() {
+        filter.absent("key");
+        assertThat(filter.isAbsent("key")).isTrue();
+        assertThat(count("evcache.negativeFilter.skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_not_absent_when_present() {
+        filter.absent("key");
+        filter.present("key");
+        assertThat(filter.isAbsent("key")).isFalse();
+    }
+
+    @Test
+    void should_be_kept_previous_generation_when_rotated() {
+        filter.absent("key");
+        elapse(10);
+        assertThat(filter.isAbsent("key")).isTrue();
+        assertThat(count("evcache.negativeFilter.rotations")).isEqualTo(1);
+        elapse(10);
+        assertThat(filter.isAbsent("key")).isFalse();
+    }
+
+    @Test
+    void should_be_dropped_both_generations_when_expired_twice() {
+        filter.absent("key");
+        elapse(20);
+        assertThat(filter.isAbsent("key")).isFalse();
+    }
+
+    @Test
+    void should_be_rotated_when_full() {
+        filter.absent("key1");
+        filter.absent("key2");
+        filter.absent("key3");
+        assertThat(count("evcache.negativeFilter.rotations")).isEqualTo(1);
+        assertThat(filter.isAbsent("key1")).isTrue();
+        assertThat(filter.isAbsent("key3")).isTrue();
+    }
+}
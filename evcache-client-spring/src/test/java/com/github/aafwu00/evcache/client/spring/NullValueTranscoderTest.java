@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class NullValueTranscoderTest {
+    private Transcoder<Object> delegate;
+    private NullValueTranscoder transcoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new SerializingTranscoder());
+        transcoder = new NullValueTranscoder(delegate);
+    }
+
+    @Test
+    void should_be_encoded_as_sentinel_when_NullValue() {
+        final CachedData data = transcoder.encode(NullValue.INSTANCE);
+        assertThat(data.getFlags()).isEqualTo(NullValueTranscoder.NULL_VALUE_FLAGS);
+        assertThat(data.getData()).hasSize(1);
+        verify(delegate, never()).encode(any());
+    }
+
+    @Test
+    void should_be_decoded_as_same_instance_when_sentinel() {
+        assertThat(transcoder.decode(transcoder.encode(NullValue.INSTANCE))).isSameAs(NullValue.INSTANCE);
+        assertThat(transcoder.asyncDecode(transcoder.encode(NullValue.INSTANCE))).isFalse();
+        verify(delegate, never()).decode(any());
+    }
+
+    @Test
+    void should_be_decoded_when_serialized_NullValue_by_previous_version() {
+        assertThat(transcoder.decode(delegate.encode(NullValue.INSTANCE))).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    void should_be_delegated_when_not_NullValue() {
+        final CachedData data = transcoder.encode("value");
+        assertThat(data.getFlags()).isNotEqualTo(NullValueTranscoder.NULL_VALUE_FLAGS);
+        assertThat(transcoder.decode(data)).isEqualTo("value");
+        assertThat(transcoder.getMaxSize()).isEqualTo(delegate.getMaxSize());
+    }
+}
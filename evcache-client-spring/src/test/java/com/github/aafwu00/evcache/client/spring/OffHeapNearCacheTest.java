@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import net.spy.memcached.CachedData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class OffHeapNearCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private OffHeapNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        nearCache = new OffHeapNearCache(100 * 1024, Duration.ofSeconds(10), ticker);
+    }
+
+    private CachedData data(final int size) {
+        return new CachedData(1, new byte[size], CachedData.MAX_SIZE);
+    }
+
+    @Test
+    void should_be_returned_copy_of_stored_bytes() {
+        nearCache.put("key", new CachedData(3, new byte[]{1, 2, 3}, CachedData.MAX_SIZE));
+        final CachedData data = nearCache.get("key");
+        assertThat(data.getFlags()).isEqualTo(3);
+        assertThat(data.getData()).containsExactly(1, 2, 3);
+        assertThat(nearCache.get("other")).isNull();
+    }
+
+    @Test
+    void should_be_null_when_expired() {
+        nearCache.put("key", data(10));
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(nearCache.get("key")).isNull();
+        assertThat(nearCache.weight()).isZero();
+    }
+
+    @Test
+    void should_be_null_when_invalidated() {
+        nearCache.put("key", data(10));
+        nearCache.invalidate("key");
+        assertThat(nearCache.get("key")).isNull();
+    }
+
+    @Test
+    void should_be_not_exceeded_capacity() {
+        for (int index = 0; index < 1000; index++) {
+            nearCache.put("key" + index, data(1024));
+        }
+        assertThat(nearCache.weight()).isLessThanOrEqualTo(100 * 1024);
+    }
+
+    @Test
+    void should_be_kept_popular_key_when_evicted() {
+        nearCache.put("popular", data(1024));
+        for (int index = 0; index < 10; index++) {
+            nearCache.get("popular");
+        }
+        for (int index = 0; index < 1000; index++) {
+            nearCache.put("key" + index, data(1024));
+        }
+        assertThat(nearCache.get("popular")).isNotNull();
+    }
+
+    @Test
+    void should_be_ignored_when_larger_than_capacity() {
+        nearCache.put("key", data(200 * 1024));
+        assertThat(nearCache.get("key")).isNull();
+    }
+
+    @Test
+    void should_be_returned_copy_of_bytes_spanning_blocks() {
+        final byte[] bytes = new byte[1000];
+        for (int index = 0; index < bytes.length; index++) {
+            bytes[index] = (byte) index;
+        }
+        nearCache.put("key", new CachedData(1, bytes, CachedData.MAX_SIZE));
+        nearCache.put("other", data(300));
+        assertThat(nearCache.get("key").getData()).isEqualTo(bytes);
+    }
+
+    @Test
+    void should_be_weighed_by_blocks() {
+        nearCache.put("key", data(10));
+        assertThat(nearCache.weight()).isEqualTo(256);
+        nearCache.put("key", data(257));
+        assertThat(nearCache.weight()).isEqualTo(512);
+    }
+
+    @Test
+    void should_be_reused_blocks_of_removed_values() {
+        for (int round = 0; round < 10; round++) {
+            for (int index = 0; index < 100; index++) {
+                nearCache.put("key" + index, data(1000));
+            }
+            for (int index = 0; index < 100; index++) {
+                nearCache.invalidate("key" + index);
+            }
+        }
+        nearCache.put("key", data(1000));
+        assertThat(nearCache.get("key")).isNotNull();
+        assertThat(nearCache.weight()).isEqualTo(1024);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class PrimitiveValueTranscoderTest {
+    private Transcoder<Object> delegate;
+    private PrimitiveValueTranscoder transcoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new SerializingTranscoder());
+        transcoder = new PrimitiveValueTranscoder(delegate);
+    }
+
+    @Test
+    void should_be_encoded_without_delegate_when_primitive() {
+        assertThat(transcoder.decode(transcoder.encode("value"))).isEqualTo("value");
+        assertThat(transcoder.decode(transcoder.encode(1L))).isEqualTo(1L);
+        assertThat(transcoder.decode(transcoder.encode(Long.MIN_VALUE))).isEqualTo(Long.MIN_VALUE);
+        assertThat(transcoder.decode(transcoder.encode(1))).isEqualTo(1);
+        assertThat(transcoder.decode(transcoder.encode(true))).isEqualTo(true);
+        assertThat(transcoder.decode(transcoder.encode(1.5D))).isEqualTo(1.5D);
+        assertThat(transcoder.decode(transcoder.encode(1.5F))).isEqualTo(1.5F);
+        assertThat(transcoder.decode(transcoder.encode(new byte[]{1, 2}))).isEqualTo(new byte[]{1, 2});
+        verify(delegate, never()).encode(any());
+        verify(delegate, never()).decode(any());
+    }
+
+    @Test
+    void should_be_stored_as_raw_utf8_when_string() {
+        final CachedData data = transcoder.encode("값");
+        assertThat(data.getFlags()).isEqualTo(PrimitiveValueTranscoder.STRING_FLAGS);
+        assertThat(data.getData()).isEqualTo("값".getBytes(UTF_8));
+    }
+
+    @Test
+    void should_be_compatible_with_native_transcoder() {
+        final SerializingTranscoder nativeTranscoder = new SerializingTranscoder();
+        assertThat(nativeTranscoder.decode(transcoder.encode("value"))).isEqualTo("value");
+        assertThat(nativeTranscoder.decode(transcoder.encode(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(nativeTranscoder.decode(transcoder.encode(3))).isEqualTo(3);
+        assertThat(transcoder.decode(nativeTranscoder.encode(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(transcoder.decode(nativeTranscoder.encode(2.5D))).isEqualTo(2.5D);
+    }
+
+    @Test
+    void should_be_delegated_when_not_primitive() {
+        final Date date = new Date();
+        assertThat(transcoder.decode(transcoder.encode(date))).isEqualTo(date);
+        verify(delegate).encode(date);
+    }
+}
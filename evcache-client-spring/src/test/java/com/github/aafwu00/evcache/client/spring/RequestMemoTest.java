@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class RequestMemoTest {
+    private final CachedData data = new CachedData(0, new byte[]{1}, CachedData.MAX_SIZE);
+
+    @Test
+    void should_be_bound_until_scope_closed() {
+        assertThat(RequestMemo.isActive()).isFalse();
+        assertThat(RequestMemo.of("name")).isNull();
+        try (RequestMemo.Scope scope = RequestMemo.open()) {
+            assertThat(RequestMemo.isActive()).isTrue();
+            RequestMemo.of("name").put("key", data);
+            assertThat(RequestMemo.of("name")).containsEntry("key", data);
+            assertThat(RequestMemo.of("other")).isEmpty();
+        }
+        assertThat(RequestMemo.isActive()).isFalse();
+    }
+
+    @Test
+    void should_be_shared_outer_memo_when_nested() {
+        try (RequestMemo.Scope outer = RequestMemo.open()) {
+            RequestMemo.of("name").put("key", data);
+            try (RequestMemo.Scope inner = RequestMemo.open()) {
+                assertThat(RequestMemo.of("name")).containsEntry("key", data);
+            }
+            assertThat(RequestMemo.isActive()).isTrue();
+        }
+        assertThat(RequestMemo.isActive()).isFalse();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class SlidingExpirationTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private SlidingExpiration slidingExpiration;
+
+    @BeforeEach
+    void setUp() {
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        slidingExpiration = new SlidingExpiration(10, Duration.ofSeconds(10), ticker);
+    }
+
+    @Test
+    void should_be_touched_when_first_read() {
+        assertThat(slidingExpiration.shouldTouch("key")).isTrue();
+        assertThat(slidingExpiration.shouldTouch("other")).isTrue();
+    }
+
+    @Test
+    void should_be_not_touched_when_read_within_interval() {
+        slidingExpiration.shouldTouch("key");
+        nanos.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(slidingExpiration.shouldTouch("key")).isFalse();
+    }
+
+    @Test
+    void should_be_touched_again_when_interval_elapsed() {
+        slidingExpiration.shouldTouch("key");
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(slidingExpiration.shouldTouch("key")).isTrue();
+    }
+}
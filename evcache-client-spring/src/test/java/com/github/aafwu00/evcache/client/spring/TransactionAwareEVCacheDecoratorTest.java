@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class TransactionAwareEVCacheDecoratorTest {
+    private EVCache target;
+    private TransactionAwareEVCacheDecorator cache;
+
+    @BeforeEach
+    void setUp() {
+        target = mock(EVCache.class);
+        cache = new TransactionAwareEVCacheDecorator(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+    }
+
+    private void commit() {
+        final List<TransactionSynchronization> synchronizations =
+            TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        complete(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private void rollback() {
+        complete(TransactionSynchronizationManager.getSynchronizations(),
+                 TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private void complete(final List<TransactionSynchronization> synchronizations, final int status) {
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void should_be_written_immediately_when_transaction_is_not_active() {
+        cache.put(1, 2);
+        cache.evict(3);
+        verify(target).put(1, 2);
+        verify(target).evict(3);
+    }
+
+    @Test
+    void should_be_written_all_last_operations_when_committed() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1, 2);
+        cache.put(1, 3);
+        cache.put(4, 5);
+        cache.evict(4);
+        cache.evict(6);
+        verify(target, never()).put(any(), any());
+        verify(target, never()).evict(any());
+        commit();
+        final Map<Object, Object> puts = new LinkedHashMap<>();
+        puts.put(1, 3);
+        verify(target).writeAll(puts, asList(4, 6));
+        assertThat(TransactionSynchronizationManager.hasResource(cache)).isFalse();
+    }
+
+    @Test
+    void should_be_put_with_time_to_live_when_committed() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1, 2, Duration.ofSeconds(10));
+        commit();
+        verify(target).writeAll(emptyMap(), emptyList());
+        verify(target).put(1, 2, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void should_be_discarded_when_rolled_back() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1, 2);
+        cache.evict(3);
+        rollback();
+        verify(target, never()).writeAll(any(), any());
+        verify(target, never()).put(any(), any());
+        verify(target, never()).evict(any());
+        assertThat(TransactionSynchronizationManager.hasResource(cache)).isFalse();
+    }
+
+    @Test
+    void should_be_discarded_only_inner_operations_when_nested_transaction_is_rolled_back() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1, 2);
+        final List<TransactionSynchronization> outer = TransactionSynchronizationManager.getSynchronizations();
+        outer.forEach(TransactionSynchronization::suspend);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(3, 4);
+        rollback();
+        TransactionSynchronizationManager.initSynchronization();
+        outer.forEach(synchronization -> {
+            synchronization.resume();
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        });
+        cache.put(5, 6);
+        commit();
+        final Map<Object, Object> puts = new LinkedHashMap<>();
+        puts.put(1, 2);
+        puts.put(5, 6);
+        verify(target).writeAll(puts, emptyList());
+        verify(target, never()).put(any(), any());
+        assertThat(TransactionSynchronizationManager.hasResource(cache)).isFalse();
+    }
+
+    @Test
+    void should_be_read_from_target_cache() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.get(1);
+        cache.putIfAbsent(1, 2);
+        verify(target).get(1);
+        verify(target).putIfAbsent(1, 2);
+        assertThat(cache.getTargetCache()).isEqualTo(target);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Taeho Kim
+ */
+class UpdateGuardTest {
+    private Registry registry;
+    private UpdateGuard updateGuard;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DefaultRegistry();
+        updateGuard = new UpdateGuard("name", 2, Duration.ofMillis(1), Duration.ofSeconds(10), registry);
+    }
+
+    private long count(final String name) {
+        return registry.counter(name, "cache", "name").count();
+    }
+
+    @Test
+    void should_be_suffixed_lock_key() {
+        assertThat(updateGuard.lockKey("key")).isEqualTo("key#update");
+    }
+
+    @Test
+    void should_be_taken_when_first_increment() {
+        assertThat(updateGuard.isTaken(1)).isTrue();
+        assertThat(updateGuard.isTaken(2)).isFalse();
+    }
+
+    @Test
+    void should_be_counted_contention_when_backoff() {
+        updateGuard.backoff("key", 1);
+        assertThat(count("evcache.update.contentions")).isEqualTo(1);
+        assertThat(count("evcache.update.exhausted")).isZero();
+    }
+
+    @Test
+    void should_be_thrown_EVCacheUpdateException_when_attempts_are_exhausted() {
+        assertThatThrownBy(() -> updateGuard.backoff("key", 2)).isExactlyInstanceOf(EVCacheUpdateException.class);
+        assertThat(count("evcache.update.exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_deleted_when_writes_are_completed_while_held() {
+        final CompletableFuture<Boolean> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+        assertThat(updateGuard.awaitWrites(System.nanoTime(), Collections.emptyList())).isTrue();
+        assertThat(updateGuard.awaitWrites(System.nanoTime(),
+                                           Arrays.asList(CompletableFuture.completedFuture(true), failed))).isTrue();
+    }
+
+    @Test
+    void should_be_left_to_expire_when_writes_are_not_completed_while_held() {
+        final Future<Boolean> write = new CompletableFuture<>();
+        final long expiredAt = System.nanoTime() - Duration.ofSeconds(9).toNanos();
+        assertThat(updateGuard.awaitWrites(expiredAt, Collections.singletonList(write))).isFalse();
+        assertThat(updateGuard.awaitWrites(expiredAt, Collections.emptyList())).isFalse();
+    }
+
+    @Test
+    void should_be_passed_when_update_is_surely_held() {
+        updateGuard.checkHeld("key", System.nanoTime());
+        assertThat(count("evcache.update.expired")).isZero();
+    }
+
+    @Test
+    void should_be_thrown_EVCacheUpdateException_when_update_may_have_expired_before_write() {
+        final long expiredAt = System.nanoTime() - Duration.ofSeconds(9).toNanos();
+        assertThatThrownBy(() -> updateGuard.checkHeld("key", expiredAt))
+            .isExactlyInstanceOf(EVCacheUpdateException.class);
+        assertThat(count("evcache.update.expired")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_seconds_of_lock_time_to_live() {
+        assertThat(updateGuard.getLockTimeToLive()).isEqualTo(10);
+    }
+}
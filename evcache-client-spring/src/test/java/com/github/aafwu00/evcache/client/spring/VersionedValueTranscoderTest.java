@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * @author Taeho Kim
+ */
+class VersionedValueTranscoderTest {
+    private Transcoder<Object> delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new SerializingTranscoder());
+    }
+
+    @Test
+    void should_be_wrapped_in_envelope() {
+        final VersionedValueTranscoder transcoder = new VersionedValueTranscoder(delegate, 2);
+        final Date value = new Date();
+        final CachedData data = transcoder.encode(value);
+        assertThat(data.getFlags()).isEqualTo(VersionedValueTranscoder.VERSIONED_FLAGS);
+        assertThat(transcoder.decode(data)).isEqualTo(value);
+    }
+
+    @Test
+    void should_be_upgraded_when_written_by_previous_version() {
+        final CachedData old = new VersionedValueTranscoder(delegate, 1).encode("old");
+        final VersionedValueTranscoder transcoder = new VersionedValueTranscoder(delegate, 2)
+            .addUpgrader(1, data -> delegate.decode(data) + "-upgraded");
+        assertThat(transcoder.decode(old)).isEqualTo("old-upgraded");
+    }
+
+    @Test
+    void should_be_upgraded_when_written_without_envelope() {
+        final VersionedValueTranscoder transcoder = new VersionedValueTranscoder(delegate, 1)
+            .addUpgrader(VersionedValueTranscoder.UNVERSIONED, data -> "legacy");
+        assertThat(transcoder.decode(delegate.encode("value"))).isEqualTo("legacy");
+    }
+
+    @Test
+    void should_be_decoded_by_delegate_when_written_by_newer_version() {
+        final CachedData newer = new VersionedValueTranscoder(delegate, 3).encode("newer");
+        assertThat(new VersionedValueTranscoder(delegate, 2).decode(newer)).isEqualTo("newer");
+    }
+
+    @Test
+    void should_be_miss_when_decode_failed() {
+        final CachedData newer = new VersionedValueTranscoder(delegate, 3).encode("newer");
+        doThrow(IllegalStateException.class).when(delegate).decode(any());
+        assertThat(new VersionedValueTranscoder(delegate, 2).decode(newer)).isNull();
+    }
+
+    @Test
+    void should_be_thrown_exception_when_upgrader_version_is_not_previous() {
+        final VersionedValueTranscoder transcoder = new VersionedValueTranscoder(delegate, 2);
+        assertThatThrownBy(() -> transcoder.addUpgrader(2, data -> null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new VersionedValueTranscoder(delegate, 0)).isInstanceOf(IllegalStateException.class);
+    }
+}
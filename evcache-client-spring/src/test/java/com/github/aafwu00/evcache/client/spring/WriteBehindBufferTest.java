@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class WriteBehindBufferTest {
+    private ScheduledExecutorService flusher;
+    private Registry registry;
+    private WriteBehindBuffer.Writer writer;
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        flusher = mock(ScheduledExecutorService.class);
+        registry = new DefaultRegistry();
+        writer = mock(WriteBehindBuffer.Writer.class);
+        buffer = new WriteBehindBuffer("name", 2, 10, flusher, registry);
+        buffer.attach(writer);
+    }
+
+    private long count(final String name) {
+        return registry.counter(name, "cache", "name").count();
+    }
+
+    @Test
+    void should_be_written_last_value_when_coalesced() {
+        buffer.offer("key", 1, 10);
+        buffer.offer("key", 2, 10);
+        assertThat(buffer.pending("key")).isEqualTo(2);
+        buffer.flush();
+        verify(writer).write("key", 2, 10);
+        verify(writer, never()).write("key", 1, 10);
+        assertThat(buffer.pending("key")).isNull();
+        assertThat(count("evcache.writeBehind.offered")).isEqualTo(2);
+        assertThat(count("evcache.writeBehind.coalesced")).isEqualTo(1);
+        assertThat(registry.timer("evcache.writeBehind.flushLatency", "cache", "name").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_flushed_by_caller_when_full() {
+        buffer.offer("key1", 1, 10);
+        buffer.offer("key2", 2, 10);
+        buffer.offer("key3", 3, 10);
+        verify(writer).write("key1", 1, 10);
+        verify(writer).write("key2", 2, 10);
+        assertThat(buffer.pending("key3")).isEqualTo(3);
+    }
+
+    @Test
+    void should_be_scheduled_flush_when_batch_is_filled() {
+        final WriteBehindBuffer batched = new WriteBehindBuffer("name", 10, 2, flusher, registry);
+        batched.attach(writer);
+        batched.offer("key1", 1, 10);
+        batched.offer("key2", 2, 10);
+        batched.offer("key3", 3, 10);
+        verify(flusher, times(1)).execute(any());
+    }
+
+    @Test
+    void should_be_not_written_when_discarded() {
+        buffer.offer("key", 1, 10);
+        buffer.discard("key");
+        buffer.flush();
+        verify(writer, never()).write(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void should_be_written_only_the_key_when_flush_key() {
+        buffer.offer("key1", 1, 10);
+        buffer.offer("key2", 2, 10);
+        buffer.flush("key2");
+        verify(writer).write("key2", 2, 10);
+        assertThat(buffer.pending("key1")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_flushed_when_close() {
+        buffer.offer("key", 1, 10);
+        buffer.close();
+        verify(flusher).shutdown();
+        verify(writer).write("key", 1, 10);
+    }
+}
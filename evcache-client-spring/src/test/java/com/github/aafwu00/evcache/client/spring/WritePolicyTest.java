@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class WritePolicyTest {
+    private Registry registry;
+    private EVCacheLatch latch;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DefaultRegistry();
+        latch = mock(EVCacheLatch.class);
+    }
+
+    private WritePolicy writePolicy(final Policy policy, final Executor checker) {
+        return new WritePolicy("name", policy, Duration.ofSeconds(1), checker, registry);
+    }
+
+    private long count(final String name) {
+        return registry.counter(name, "cache", "name").count();
+    }
+
+    @Test
+    void should_be_acknowledged_when_latch_is_released() throws InterruptedException {
+        doReturn(true).when(latch).await(Duration.ofSeconds(1).toNanos(), TimeUnit.NANOSECONDS);
+        assertThat(writePolicy(Policy.QUORUM, Runnable::run).acknowledge(latch)).isTrue();
+        assertThat(count("evcache.write.failures")).isZero();
+    }
+
+    @Test
+    void should_be_not_acknowledged_when_latch_is_timed_out() throws InterruptedException {
+        doReturn(false).when(latch).await(Duration.ofSeconds(1).toNanos(), TimeUnit.NANOSECONDS);
+        assertThat(writePolicy(Policy.ALL, Runnable::run).acknowledge(latch)).isFalse();
+        assertThat(count("evcache.write.failures")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_counted_failures_without_waiting_when_fire_and_forget() throws InterruptedException {
+        doReturn(Arrays.asList(CompletableFuture.completedFuture(true), CompletableFuture.completedFuture(false)))
+            .when(latch).getAllFutures();
+        assertThat(writePolicy(Policy.NONE, Runnable::run).acknowledge(latch)).isTrue();
+        verify(latch, never()).await(Duration.ofSeconds(1).toNanos(), TimeUnit.NANOSECONDS);
+        assertThat(count("evcache.write.failures")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_counted_unchecked_when_checker_is_full() {
+        final Executor full = command -> {
+            throw new RejectedExecutionException();
+        };
+        assertThat(writePolicy(Policy.NONE, full).acknowledge(latch)).isTrue();
+        assertThat(count("evcache.write.unchecked")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_not_acknowledged_when_write_has_no_latch() {
+        assertThat(writePolicy(Policy.ALL, Runnable::run).acknowledge(null)).isFalse();
+        assertThat(count("evcache.write.failures")).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_acknowledged_when_fire_and_forget_write_has_no_latch() {
+        assertThat(writePolicy(Policy.NONE, Runnable::run).acknowledge(null)).isTrue();
+        assertThat(count("evcache.write.failures")).isZero();
+    }
+
+    @Test
+    void should_be_shutdown_checker_when_closed() {
+        final ExecutorService checker = Executors.newSingleThreadExecutor();
+        writePolicy(Policy.NONE, checker).close();
+        assertThat(checker.isShutdown()).isTrue();
+    }
+}
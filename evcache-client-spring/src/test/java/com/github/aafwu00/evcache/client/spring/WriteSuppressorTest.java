@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.evcache.client.spring;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class WriteSuppressorTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private WriteSuppressor suppressor;
+
+    @BeforeEach
+    void setUp() {
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        suppressor = new WriteSuppressor(10, Duration.ofSeconds(10), ticker);
+    }
+
+    @Test
+    void should_be_duplicated_when_same_value_written_within_half_of_ttl() {
+        suppressor.written("key", new byte[]{1, 2}, 10);
+        assertThat(suppressor.isDuplicated("key", new byte[]{1, 2}, 10)).isTrue();
+        assertThat(suppressor.isDuplicated("key", new byte[]{1, 3}, 10)).isFalse();
+        assertThat(suppressor.isDuplicated("other", new byte[]{1, 2}, 10)).isFalse();
+    }
+
+    @Test
+    void should_be_not_duplicated_when_half_of_ttl_elapsed() {
+        suppressor.written("key", new byte[]{1, 2}, 10);
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(suppressor.isDuplicated("key", new byte[]{1, 2}, 10)).isFalse();
+    }
+
+    @Test
+    void should_be_not_duplicated_when_invalidated() {
+        suppressor.written("key", new byte[]{1, 2}, 10);
+        suppressor.invalidate("key");
+        assertThat(suppressor.isDuplicated("key", new byte[]{1, 2}, 10)).isFalse();
+    }
+
+    @Test
+    void should_be_not_duplicated_when_written_with_other_ttl() {
+        suppressor.written("key", new byte[]{1, 2}, 10);
+        assertThat(suppressor.isDuplicated("key", new byte[]{1, 2}, 4)).isFalse();
+    }
+
+    @Test
+    void should_be_not_duplicated_when_half_of_effective_ttl_elapsed() {
+        suppressor.written("key", new byte[]{1, 2}, 4);
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(suppressor.isDuplicated("key", new byte[]{1, 2}, 4)).isTrue();
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(suppressor.isDuplicated("key", new byte[]{1, 2}, 4)).isFalse();
+    }
+}